@@ -0,0 +1,78 @@
+package cubesolver.benchmarks;
+
+import cubesolver.Coordinates;
+import cubesolver.Tools;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting between edge permutation indexes and permutation vectors, for a varying number of pieces,
+ * using both the list based and the bit-packed representations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoordinatesBenchmark {
+    @Param({"2", "4", "5"})
+    public int pieces;
+
+    private List<Integer> affectedPieces;
+    private List<List<Integer>> permutations;
+    private long[] packedPermutations;
+    private int size;
+
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        affectedPieces = new ArrayList<>();
+
+        for (int i = 0; i < pieces; i++) {
+            affectedPieces.add(4 + i);
+        }
+
+        size = Math.toIntExact(Tools.permutations(12, pieces));
+
+        permutations = new ArrayList<>();
+
+        for (int i = 0; i < 1024; i++) {
+            permutations.add(Coordinates.getEdgePermutationFromIndex((int) ((long) i * size / 1024), affectedPieces));
+        }
+
+        packedPermutations = new long[1024];
+
+        for (int i = 0; i < 1024; i++) {
+            packedPermutations[i] = Coordinates.getPackedPermutationFromIndex((int) ((long) i * size / 1024), pieces, 12);
+        }
+    }
+
+    @Benchmark
+    public int getIndexFromPermutation() {
+        next = (next + 1) & 1023;
+        return Coordinates.getIndexFromPermutation(permutations.get(next), affectedPieces);
+    }
+
+    @Benchmark
+    public List<Integer> getPermutationFromIndex() {
+        next = (next + 1) % size;
+        return Coordinates.getEdgePermutationFromIndex(next, affectedPieces);
+    }
+
+    @Benchmark
+    public int getIndexFromPackedPermutation() {
+        next = (next + 1) & 1023;
+        return Coordinates.getIndexFromPackedPermutation(packedPermutations[next], pieces, 12);
+    }
+
+    @Benchmark
+    public long getPackedPermutationFromIndex() {
+        next = (next + 1) % size;
+        return Coordinates.getPackedPermutationFromIndex(next, pieces, 12);
+    }
+}
@@ -0,0 +1,60 @@
+package cubesolver.benchmarks;
+
+import cubesolver.Coordinates;
+import cubesolver.MoveTable;
+import cubesolver.Tools;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures random walks through an edge permutation move table, which is the access pattern of the search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveTableBenchmark {
+    private static final int WALK_LENGTH = 1024;
+
+    @Param({"4", "5"})
+    public int pieces;
+
+    private MoveTable moveTable;
+    private int[] moves;
+
+    @Setup
+    public void setup() {
+        List<Integer> affectedPieces = new ArrayList<>();
+
+        for (int i = 0; i < pieces; i++) {
+            affectedPieces.add(4 + i);
+        }
+
+        int size = Math.toIntExact(Tools.permutations(12, pieces));
+
+        moveTable = new MoveTable(size, (index, move) -> Coordinates.permutationMove(index, move, affectedPieces));
+
+        moves = new int[WALK_LENGTH];
+
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            moves[i] = (i * 7 + i / 18) % 18;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public int doMove() {
+        int index = 0;
+
+        for (int move : moves) {
+            index = moveTable.doMove(index, move);
+        }
+
+        return index;
+    }
+}
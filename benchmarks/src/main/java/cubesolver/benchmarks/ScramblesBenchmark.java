@@ -0,0 +1,71 @@
+package cubesolver.benchmarks;
+
+import cubesolver.Scrambles;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing, formatting and binary encoding of a typical 20 move scramble, comparing the list based
+ * methods with the ones writing into reusable arrays and builders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScramblesBenchmark {
+    private static final String SCRAMBLE = "D2 B2 R2 U' F2 U' B2 U R2 D' R2 B' U L' F D2 B L2 D' B'";
+
+    private final int[] moves = new int[32];
+    private final byte[] encoded = new byte[Scrambles.getEncodedLength(32)];
+    private final StringBuilder builder = new StringBuilder();
+
+    private List<Integer> list;
+    private int count;
+
+    @Setup
+    public void setup() {
+        list = Scrambles.parseScramble(SCRAMBLE);
+        count = Scrambles.parseMoves(SCRAMBLE, moves);
+        Scrambles.encodeMoves(moves, count, encoded, 0);
+    }
+
+    @Benchmark
+    public boolean validateSequence() {
+        return Scrambles.validateSequence(SCRAMBLE);
+    }
+
+    @Benchmark
+    public List<Integer> parseScramble() {
+        return Scrambles.parseScramble(SCRAMBLE);
+    }
+
+    @Benchmark
+    public int parseMovesIntoArray() {
+        return Scrambles.parseMoves(SCRAMBLE, moves);
+    }
+
+    @Benchmark
+    public String formatMoveSequence() {
+        return Scrambles.formatMoveSequence(list);
+    }
+
+    @Benchmark
+    public int appendMoveSequence() {
+        builder.setLength(0);
+        return Scrambles.appendMoveSequence(builder, moves, 0, count).length();
+    }
+
+    @Benchmark
+    public int encodeMoves() {
+        return Scrambles.encodeMoves(moves, count, encoded, 0);
+    }
+
+    @Benchmark
+    public int decodeMoves() {
+        return Scrambles.decodeMoves(encoded, 0, moves);
+    }
+}
@@ -0,0 +1,52 @@
+package cubesolver.benchmarks;
+
+import cubesolver.Search;
+import cubesolver.Step;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures solving the bundled scrambles for every step, with and without batched expansion. Each invocation
+ * solves the next scramble in the file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"EOLINE", "EOCROSS", "CROSS", "XCROSS", "EOXCROSS"})
+    public Step step;
+
+    @Param({"false", "true"})
+    public boolean batched;
+
+    private Search search;
+    private List<String> scrambles;
+
+    private int next = 0;
+
+    @Setup
+    public void setup() throws IOException {
+        search = step.createSearch().setBatchedExpansion(batched);
+        search.initialize();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(SearchBenchmark.class.getResourceAsStream("/scrambles.txt"), StandardCharsets.UTF_8))) {
+            scrambles = reader.lines().filter(line -> !line.trim().isEmpty()).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public String solve() {
+        next = (next + 1) % scrambles.size();
+        return search.solve(scrambles.get(next));
+    }
+}
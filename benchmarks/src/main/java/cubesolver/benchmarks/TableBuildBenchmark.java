@@ -0,0 +1,61 @@
+package cubesolver.benchmarks;
+
+import cubesolver.Coordinates;
+import cubesolver.MoveTable;
+import cubesolver.PruningTable;
+import cubesolver.Tools;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating the move and pruning tables for the edge permutation coordinate. Each table is
+ * built once per invocation, so single shot time is used rather than throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TableBuildBenchmark {
+    @Param({"4", "5"})
+    public int pieces;
+
+    private List<Integer> affectedPieces;
+    private int size;
+    private int solvedIndex;
+
+    private MoveTable moveTable;
+
+    @Setup
+    public void setup() {
+        affectedPieces = new ArrayList<>();
+        List<Integer> solved = new ArrayList<>();
+
+        for (int i = 0; i < 12; i++) {
+            solved.add(i);
+        }
+
+        for (int i = 0; i < pieces; i++) {
+            affectedPieces.add(4 + i);
+        }
+
+        size = Math.toIntExact(Tools.permutations(12, pieces));
+        solvedIndex = Coordinates.getIndexFromPermutation(solved, affectedPieces);
+
+        moveTable = createMoveTable();
+    }
+
+    @Benchmark
+    public MoveTable createMoveTable() {
+        return new MoveTable(size, (index, move) -> Coordinates.permutationMove(index, move, affectedPieces));
+    }
+
+    @Benchmark
+    public PruningTable createPruningTable() {
+        return new PruningTable(size, moveTable, solvedIndex);
+    }
+}
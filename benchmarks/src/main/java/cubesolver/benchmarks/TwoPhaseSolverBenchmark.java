@@ -0,0 +1,50 @@
+package cubesolver.benchmarks;
+
+import cubesolver.SearchLimits;
+import cubesolver.SearchResult;
+import cubesolver.TwoPhaseSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures solving the bundled scrambles completely with the two-phase solver for a few target lengths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TwoPhaseSolverBenchmark {
+    @Param({"20", "21", "22"})
+    public int targetLength;
+
+    private TwoPhaseSolver solver;
+    private List<String> scrambles;
+
+    private int next = 0;
+
+    @Setup
+    public void setup() throws IOException {
+        solver = new TwoPhaseSolver();
+        solver.initialize();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(TwoPhaseSolverBenchmark.class.getResourceAsStream("/scrambles.txt"), StandardCharsets.UTF_8))) {
+            scrambles = reader.lines().filter(line -> !line.trim().isEmpty()).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public SearchResult solve() {
+        next = (next + 1) % scrambles.size();
+        return solver.solve(scrambles.get(next), targetLength, SearchLimits.withTimeout(Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,79 @@
+package cubesolver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Solves many scrambles with a set of solvers, spreading the scrambles across a pool of worker threads.
+ * Results are handed back in the same order as the scrambles were given, as soon as they are available.
+ */
+public class BatchSolver {
+    /**
+     * How many scrambles per thread may be solved ahead of the oldest unfinished scramble.
+     */
+    private static final int SCRAMBLES_IN_FLIGHT_PER_THREAD = 4;
+
+    private final MultiStepSolver solver;
+    private final int threads;
+
+    public BatchSolver(List<Search> solvers, int threads) {
+        this.solver = new MultiStepSolver(solvers);
+        this.threads = threads;
+    }
+
+    private List<String> solveAll(String scramble) {
+        return solver.solve(scramble).getSolutions();
+    }
+
+    /**
+     * Waits for the result of a task, rethrowing its failure as an IllegalStateException.
+     */
+    static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error while solving", e.getCause());
+        }
+    }
+
+    /**
+     * Solves every scramble, calling the handler with the scramble and the solutions of every solver
+     * in input order. The handler is always called from the calling thread. Returns the number of scrambles solved.
+     */
+    public int solve(Iterator<String> scrambles, BiConsumer<String, List<String>> handler) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        Deque<String> pendingScrambles = new ArrayDeque<>();
+        Deque<Future<List<String>>> pendingSolutions = new ArrayDeque<>();
+
+        int count = 0;
+
+        try {
+            while (scrambles.hasNext() || !pendingSolutions.isEmpty()) {
+                if (scrambles.hasNext() && pendingSolutions.size() < threads * SCRAMBLES_IN_FLIGHT_PER_THREAD) {
+                    String scramble = scrambles.next();
+                    pendingScrambles.add(scramble);
+                    pendingSolutions.add(executor.submit(() -> solveAll(scramble)));
+                    continue;
+                }
+
+                handler.accept(pendingScrambles.poll(), await(pendingSolutions.poll()));
+                count++;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,17 @@
+package cubesolver;
+
+/**
+ * Lets another thread ask a running search to stop. The search checks the token regularly and
+ * returns as soon as it notices that it has been cancelled.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled = false;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
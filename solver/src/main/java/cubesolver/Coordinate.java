@@ -0,0 +1,240 @@
+package cubesolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * A coordinate tracked by a Search: an index describing the state of some of the pieces, together with a move
+ * table giving the index after every move, a pruning table giving the number of moves needed to solve it, and
+ * the indexes in which it is solved. A search runs over an array of coordinates, so a step is defined by the
+ * coordinates it tracks, without any changes to the search.
+ *
+ * Besides the coordinates of the standard kinds created by the factory methods, a coordinate can be created
+ * from any move function, solved indexes and value function, for steps which need other coordinates.
+ *
+ * The tables are created when the coordinate is initialized. Tables which have already been created for an
+ * equal coordinate are shared through the TableRegistry.
+ */
+public final class Coordinate {
+    private final Search.CoordinateKind kind;
+    private final String name;
+    private final List<Integer> pieces;
+    private final int size;
+
+    private final String moveTableKey;
+    private final CoordinateMove doMove;
+    private final Collection<Integer> solvedValues;
+    private final ToIntFunction<CubeState> value;
+
+    private MoveTable moveTable;
+    private PruningTable pruningTable;
+
+    // The solved indexes as a bitset.
+    private long[] solved;
+
+    private Coordinate(Search.CoordinateKind kind, String name, List<Integer> pieces, int size, String moveTableKey, CoordinateMove doMove, Collection<Integer> solvedValues, ToIntFunction<CubeState> value) {
+        this.kind = kind;
+        this.name = name;
+        this.pieces = pieces;
+        this.size = size;
+        this.moveTableKey = moveTableKey;
+        this.doMove = doMove;
+        this.solvedValues = solvedValues;
+        this.value = value;
+    }
+
+    private Coordinate(Search.CoordinateKind kind, List<Integer> pieces, int size, String moveTableKey, CoordinateMove doMove, Collection<Integer> solvedValues, ToIntFunction<CubeState> value) {
+        this(kind, kind.getDescription(), pieces, size, moveTableKey, doMove, solvedValues, value);
+    }
+
+    /**
+     * Creates a coordinate with the given number of indexes, where doMove gives the index after a move, the
+     * coordinate is solved in the given indexes, and value gives the index of a state. The name identifies the
+     * tables of the coordinate in the TableRegistry and the TableStore, so coordinates with different tables
+     * need different names.
+     */
+    public Coordinate(String name, int size, CoordinateMove doMove, Collection<Integer> solvedValues, ToIntFunction<CubeState> value) {
+        this(null, name, null, size, name, doMove, solvedValues, value);
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("A coordinate needs at least one index");
+        }
+
+        if (solvedValues.isEmpty() || solvedValues.stream().anyMatch(index -> index < 0 || index >= size)) {
+            throw new IllegalArgumentException("The solved indexes of " + name + " must be between 0 and " + (size - 1));
+        }
+    }
+
+    /**
+     * The orientation of all edges, which is solved when the given edges are oriented.
+     */
+    public static Coordinate edgeOrientation(List<Integer> pieces) {
+        List<Integer> solvedValues = new ArrayList<>();
+
+        for (int i = 0; i < 2048; i++) {
+            int orientation = Coordinates.getPackedEdgeOrientationFromIndex(i);
+
+            if (pieces.stream().allMatch(piece -> (orientation & (1 << piece)) == 0)) {
+                solvedValues.add(i);
+            }
+        }
+
+        return new Coordinate(Search.CoordinateKind.EDGE_ORIENTATION, pieces, 2048, "edge-orientation", Coordinates::orientationMove, solvedValues,
+                state -> Coordinates.getIndexFromPackedEdgeOrientation(state.getEdgeFlips()));
+    }
+
+    /**
+     * The positions of the given edges, which is solved when all of them are in their own position.
+     */
+    public static Coordinate edgePermutation(List<Integer> pieces) {
+        int size = Math.toIntExact(Tools.permutations(12, pieces.size()));
+        int solved = Coordinates.getIndexFromPermutation(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), pieces);
+
+        return new Coordinate(Search.CoordinateKind.EDGE_PERMUTATION, pieces, size, "edge-permutation " + pieces.size() + " pieces",
+                (index, move) -> Coordinates.permutationMove(index, move, pieces), Collections.singletonList(solved),
+                state -> Coordinates.getIndexFromPackedPermutation(getPositions(state.getEdgePositions(), pieces), pieces.size(), 12));
+    }
+
+    /**
+     * The orientation of all corners, which is solved when the given corners are oriented.
+     */
+    public static Coordinate cornerOrientation(List<Integer> pieces) {
+        List<Integer> solvedValues = new ArrayList<>();
+
+        for (int i = 0; i < 2187; i++) {
+            int orientation = Coordinates.getPackedCornerOrientationFromIndex(i);
+
+            if (pieces.stream().allMatch(piece -> (orientation & (3 << (2 * piece))) == 0)) {
+                solvedValues.add(i);
+            }
+        }
+
+        return new Coordinate(Search.CoordinateKind.CORNER_ORIENTATION, pieces, 2187, "corner-orientation", Coordinates::cornerOrientationMove, solvedValues,
+                state -> Coordinates.getIndexFromPackedCornerOrientation(state.getCornerTwists()));
+    }
+
+    /**
+     * The positions of the given corners, which is solved when all of them are in their own position.
+     */
+    public static Coordinate cornerPermutation(List<Integer> pieces) {
+        int size = Math.toIntExact(Tools.permutations(8, pieces.size()));
+        int solved = Coordinates.getIndexFromPermutation(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), pieces);
+
+        return new Coordinate(Search.CoordinateKind.CORNER_PERMUTATION, pieces, size, "corner-permutation " + pieces.size() + " pieces",
+                (index, move) -> Coordinates.cornerPermutationMove(index, move, pieces), Collections.singletonList(solved),
+                state -> Coordinates.getIndexFromPackedPermutation(getPositions(state.getCornerPositions(), pieces), pieces.size(), 8));
+    }
+
+    /**
+     * Picks the packed positions of the given pieces out of the positions of all pieces.
+     */
+    private static long getPositions(long allPositions, List<Integer> pieces) {
+        long positions = 0;
+
+        for (int i = 0; i < pieces.size(); i++) {
+            positions |= ((allPositions >>> (4 * pieces.get(i))) & 0xf) << (4 * i);
+        }
+
+        return positions;
+    }
+
+    static String formatPieces(List<Integer> pieces) {
+        if (pieces == null) {
+            return "none";
+        }
+
+        return pieces.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Creates the tables of the coordinate, loading them from the given store when possible, like Search.initialize.
+     */
+    synchronized void initialize(TableStore store) {
+        if (moveTable != null) {
+            return;
+        }
+
+        MoveTable moveTable = TableRegistry.getInstance().getMoveTable(moveTableKey, () -> {
+            if (store == null) {
+                return new MoveTable(size, doMove);
+            }
+
+            return store.loadMoveTable(moveTableKey, size, doMove);
+        });
+
+        String pruningTableKey = pieces != null ? name + " pruning " + formatPieces(pieces) : name + " pruning";
+
+        pruningTable = TableRegistry.getInstance().getPruningTable(pruningTableKey, () -> {
+            if (store == null) {
+                return new PruningTable(size, moveTable, solvedValues);
+            }
+
+            return store.loadPruningTable(pruningTableKey, size, moveTable, solvedValues);
+        });
+
+        solved = new long[(size + 63) / 64];
+
+        for (int index : solvedValues) {
+            solved[index >>> 6] |= 1L << index;
+        }
+
+        this.moveTable = moveTable;
+    }
+
+    /**
+     * Returns the kind of the coordinate, or null if it was not created by one of the factory methods.
+     */
+    public Search.CoordinateKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the description of the kind of the coordinate, or the name it was created with.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public List<Integer> getPieces() {
+        return pieces;
+    }
+
+    /**
+     * Returns the name of the coordinate followed by its pieces, which identifies it in table keys and reports.
+     */
+    public String getDescription() {
+        return pieces != null ? name + " " + formatPieces(pieces) : name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    Collection<Integer> getSolvedValues() {
+        return solvedValues;
+    }
+
+    MoveTable getMoveTable() {
+        return moveTable;
+    }
+
+    PruningTable getPruningTable() {
+        return pruningTable;
+    }
+
+    /**
+     * Returns the value of the coordinate in the given state.
+     */
+    int getValue(CubeState state) {
+        return value.applyAsInt(state);
+    }
+
+    boolean isSolved(int index) {
+        return (solved[index >>> 6] & (1L << index)) != 0;
+    }
+}
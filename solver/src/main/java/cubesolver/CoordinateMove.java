@@ -1,3 +1,5 @@
+package cubesolver;
+
 @FunctionalInterface
 public interface CoordinateMove {
     public int apply(int index, int move);
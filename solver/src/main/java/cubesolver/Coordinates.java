@@ -0,0 +1,328 @@
+package cubesolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class Coordinates {
+    /**
+     * Computes an unique index in the range from 0 to but not up to
+     * the maximum number of unique flips of the pieces.
+     * Thus, this function is a bijection, however there is no guaranteed logical
+     * connection between the indexes and the orientation.
+     */
+    public static int getIndexFromOrientation(List<Integer> pieces, int flipCount) {
+        int sum = 0;
+
+        for (int i = 0; i < pieces.size() - 1; i++) {
+            sum = flipCount * sum + pieces.get(i);
+        }
+
+        return sum;
+    }
+
+    public static int getIndexFromCornerOrientation(List<Integer> corners) {
+        // Corners can be twisted in 3 ways.
+        return getIndexFromOrientation(corners, 3);
+    }
+
+    public static int getIndexFromEdgeOrientation(List<Integer> edges) {
+        // Edges may be flipped or not.
+       return getIndexFromOrientation(edges, 2);
+    }
+
+    private static List<Integer> getOrientationFromIndex(int index, int numPieces, int numFlips) {
+        List<Integer> orientation = new ArrayList<>(Collections.nCopies(numPieces, 0));
+
+        int parity = 0;
+
+        for (int i = numPieces - 2; i >= 0; i--) {
+            int ori = index % numFlips;
+            orientation.set(i, ori);
+            parity += ori;
+            index /= numFlips;
+        }
+
+        // The flip of the last piece is uniquely determined by the flip of the other pieces.
+        orientation.set(numPieces - 1, (numFlips - parity % numFlips) % numFlips);
+
+        return orientation;
+    }
+
+    public static List<Integer> getCornerOrientationFromIndex(int index) {
+        return getOrientationFromIndex(index, 8, 3);
+    }
+
+    public static List<Integer> getEdgeOrientationFromIndex(int index) {
+        return getOrientationFromIndex(index, 12, 2);
+    }
+
+    /**
+     * Retrieves the unique permutation of the affected pieces in a list of given length corresponding to the given index.
+     */
+    private static List<Integer> getPermutationFromIndex(int index, List<Integer> affectedPieces, int size) {
+        List<Integer> permutation = new ArrayList<>(Collections.nCopies(size, 0));
+        List<Integer> indexes = new ArrayList<Integer>();
+
+        if (affectedPieces.size() == 1) {
+            permutation.set(index, affectedPieces.get(0));
+
+            return permutation;
+        }
+
+        int factor = 1 + size - affectedPieces.size();
+
+        int base = size;
+
+        for (int i = affectedPieces.size() - 2; i >= 0; i--) {
+            base *= factor + i;
+        }
+
+        for (int i = 0; i < affectedPieces.size() - 1; i++) {
+            base /= factor + i;
+
+            int value = index / base;
+            int rest = index % base;
+
+            indexes.add(value);
+
+            if (i == affectedPieces.size() - 2) {
+                indexes.add(rest);
+            }
+
+            index -= base * value;
+        }
+
+        for (int i = 0; i < indexes.size() - 1; i++) {
+            for (int j = i + 1; j < indexes.size(); j++) {
+                if (indexes.get(i) >= indexes.get(j)) {
+                    indexes.set(i, indexes.get(i) + 1);
+                }
+            }
+        }
+
+        for (int i = 0; i < affectedPieces.size(); i++) {
+            permutation.set(indexes.get(i), affectedPieces.get(i));
+        }
+
+        return permutation;
+    }
+
+    public static List<Integer> getEdgePermutationFromIndex(int index, List<Integer> affectedPieces) {
+        return getPermutationFromIndex(index, affectedPieces, 12);
+    }
+
+    public static List<Integer> getCornerPermutationFromIndex(int index, List<Integer> affectedPieces) {
+        return getPermutationFromIndex(index, affectedPieces, 8);
+    }
+
+    /**
+     * This function is a bijection which will map the given permutation to an unique number.
+     * The range of the numbers depends on the affected pieces - the number will be an unique
+     * number in the range from 0 up but not unto the number of ways the affected pieces
+     * may be permuted in a list of the given length. The function is identical for both edges and corners.
+     */
+    public static int getIndexFromPermutation(List<Integer> permutation, List<Integer> affectedPieces) {
+        List<Integer> indexes = affectedPieces.stream().map(permutation::indexOf).collect(Collectors.toList());
+
+        if (affectedPieces.size() == 1) {
+            return permutation.indexOf(affectedPieces.get(0));
+        }
+
+        int base = permutation.size();
+
+        int previous = indexes.get(indexes.size() - 1);
+
+        for (int i = indexes.size() - 2; i >= 0; i--) {
+            for (int j = indexes.size() - 1; j > i; j--) {
+                if (indexes.get(i) > indexes.get(j)) {
+                    indexes.set(i, indexes.get(i) - 1);
+                }
+            }
+
+            previous += base * indexes.get(i);
+
+            base *= 1 + permutation.size() - indexes.size() + i;
+        }
+
+        return previous;
+    }
+
+    /*
+     * The functions below convert between indexes and the bit-packed cubies used by CubieCube,
+     * and give the same indexes as their list based counterparts without allocating.
+     */
+
+    private static int getIndexFromPackedOrientation(int pieces, int numPieces, int bits, int flipCount) {
+        int sum = 0;
+
+        for (int i = 0; i < numPieces - 1; i++) {
+            sum = flipCount * sum + ((pieces >>> (bits * i)) & ((1 << bits) - 1));
+        }
+
+        return sum;
+    }
+
+    private static int getPackedOrientationFromIndex(int index, int numPieces, int bits, int numFlips) {
+        int pieces = 0;
+        int parity = 0;
+
+        for (int i = numPieces - 2; i >= 0; i--) {
+            int ori = index % numFlips;
+            pieces |= ori << (bits * i);
+            parity += ori;
+            index /= numFlips;
+        }
+
+        return pieces | ((numFlips - parity % numFlips) % numFlips) << (bits * (numPieces - 1));
+    }
+
+    public static int getIndexFromPackedEdgeOrientation(int flips) {
+        return getIndexFromPackedOrientation(flips, 12, 1, 2);
+    }
+
+    public static int getPackedEdgeOrientationFromIndex(int index) {
+        return getPackedOrientationFromIndex(index, 12, 1, 2);
+    }
+
+    public static int getIndexFromPackedCornerOrientation(int twists) {
+        return getIndexFromPackedOrientation(twists, 8, 2, 3);
+    }
+
+    public static int getPackedCornerOrientationFromIndex(int index) {
+        return getPackedOrientationFromIndex(index, 8, 2, 3);
+    }
+
+    /**
+     * Maps the packed positions of the given number of tracked pieces to the same index as getIndexFromPermutation.
+     * The index is a Lehmer code where the last piece is the least significant digit. The position of every other
+     * piece is reduced by the number of pieces after it in a lower position, which is counted using a bitmask.
+     */
+    public static int getIndexFromPackedPermutation(long positions, int pieces, int size) {
+        int index = 0;
+        int base = 1;
+        int used = 0;
+
+        for (int piece = pieces - 1; piece >= 0; piece--) {
+            int position = (int) (positions >>> (4 * piece)) & 0xf;
+
+            index += (position - Integer.bitCount(used & ((1 << position) - 1))) * base;
+            base *= piece == pieces - 1 ? size : 1 + size - pieces + piece;
+            used |= 1 << position;
+        }
+
+        return index;
+    }
+
+    /**
+     * The inverse of getIndexFromPackedPermutation.
+     */
+    public static long getPackedPermutationFromIndex(int index, int pieces, int size) {
+        long positions = 0;
+        int used = 0;
+
+        for (int piece = pieces - 1; piece >= 0; piece--) {
+            int base = piece == pieces - 1 ? size : 1 + size - pieces + piece;
+            int value = index % base;
+            index /= base;
+
+            // Find the free position which has exactly value free positions before it.
+            int free = ~used;
+
+            for (int i = 0; i < value; i++) {
+                free &= free - 1;
+            }
+
+            int position = Integer.numberOfTrailingZeros(free);
+
+            used |= 1 << position;
+            positions |= (long) position << (4 * piece);
+        }
+
+        return positions;
+    }
+
+    /**
+     * Maps a bitmask of the positions occupied by a set of pieces, ignoring the order of the pieces,
+     * to an index below C(size, pieces). The index is the rank of the set in colexicographic order.
+     */
+    public static int getIndexFromCombination(int positions) {
+        int index = 0;
+        int piece = 1;
+
+        for (int remaining = positions; remaining != 0; remaining &= remaining - 1) {
+            index += (int) Tools.binomial(Integer.numberOfTrailingZeros(remaining), piece++);
+        }
+
+        return index;
+    }
+
+    /**
+     * The inverse of getIndexFromCombination.
+     */
+    public static int getCombinationFromIndex(int index, int pieces, int size) {
+        int positions = 0;
+        int position = size - 1;
+
+        for (int piece = pieces; piece > 0; piece--) {
+            while (Tools.binomial(position, piece) > index) {
+                position--;
+            }
+
+            index -= Tools.binomial(position, piece);
+            positions |= 1 << position--;
+        }
+
+        return positions;
+    }
+
+    /**
+     * Returns the new orientation index after performing a move.
+     */
+    public static int orientationMove(int index, int move) {
+        int orientation = getPackedEdgeOrientationFromIndex(index);
+        return getIndexFromPackedEdgeOrientation(CubieCube.packedOrientationMove(orientation, move));
+    }
+
+    /**
+     * Returns the new permutation index after performing a move.
+     */
+    public static int permutationMove(int index, int move, List<Integer> affectedPieces) {
+        long permutation = getPackedPermutationFromIndex(index, affectedPieces.size(), 12);
+        return getIndexFromPackedPermutation(CubieCube.packedPermutationMove(permutation, affectedPieces.size(), move), affectedPieces.size(), 12);
+    }
+
+    public static int cornerOrientationMove(int index, int move) {
+        int orientation = getPackedCornerOrientationFromIndex(index);
+        return getIndexFromPackedCornerOrientation(CubieCube.packedCornerOrientationMove(orientation, move));
+    }
+
+    public static int cornerPermutationMove(int index, int move, List<Integer> affectedPieces) {
+        long permutation = getPackedPermutationFromIndex(index, affectedPieces.size(), 8);
+        return getIndexFromPackedPermutation(CubieCube.packedCornerPermutationMove(permutation, affectedPieces.size(), move), affectedPieces.size(), 8);
+    }
+
+    /**
+     * Returns the new index of the set of positions occupied by the given number of edges after performing a move.
+     */
+    public static int combinationMove(int index, int move, int pieces) {
+        int combination = getCombinationFromIndex(index, pieces, 12);
+        long permutation = 0;
+        int piece = 0;
+
+        for (int remaining = combination; remaining != 0; remaining &= remaining - 1) {
+            permutation |= (long) Integer.numberOfTrailingZeros(remaining) << (4 * piece++);
+        }
+
+        permutation = CubieCube.packedPermutationMove(permutation, pieces, move);
+        combination = 0;
+
+        for (piece = 0; piece < pieces; piece++) {
+            combination |= 1 << ((permutation >>> (4 * piece)) & 0xf);
+        }
+
+        return getIndexFromCombination(combination);
+    }
+}
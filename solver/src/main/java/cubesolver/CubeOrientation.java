@@ -0,0 +1,114 @@
+package cubesolver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * An orientation of the whole cube, described by where every face ends up after rotating the cube.
+ * Faces are numbered in the same order as moves: F, R, U, B, L, D.
+ *
+ * Rotating a scramble into another orientation lets a solver defined relative to the D face solve
+ * the same step on any other face, using the same tables.
+ */
+public class CubeOrientation {
+    public static final CubeOrientation IDENTITY = new CubeOrientation("", new int[] { 0, 1, 2, 3, 4, 5 });
+
+    private static final List<CubeOrientation> ROTATIONS = Arrays.asList(
+            new CubeOrientation("x", new int[] { 2, 1, 3, 5, 4, 0 }),
+            new CubeOrientation("y", new int[] { 4, 0, 2, 1, 3, 5 }),
+            new CubeOrientation("z", new int[] { 0, 5, 1, 3, 2, 4 }));
+
+    private static final List<CubeOrientation> ALL = new ArrayList<>();
+
+    static {
+        // Find all 24 orientations by applying rotations, keeping the shortest description of each.
+        Deque<CubeOrientation> queue = new ArrayDeque<>();
+        queue.add(IDENTITY);
+        ALL.add(IDENTITY);
+
+        while (!queue.isEmpty()) {
+            CubeOrientation current = queue.poll();
+
+            for (CubeOrientation rotation : ROTATIONS) {
+                CubeOrientation next = current.then(rotation);
+
+                if (ALL.stream().noneMatch(orientation -> Arrays.equals(orientation.faces, next.faces))) {
+                    ALL.add(next);
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private final String description;
+
+    // The face every face is moved to, and the inverse.
+    private final int[] faces;
+    private final int[] inverseFaces = new int[6];
+
+    private CubeOrientation(String description, int[] faces) {
+        this.description = description;
+        this.faces = faces;
+
+        for (int face = 0; face < 6; face++) {
+            inverseFaces[faces[face]] = face;
+        }
+    }
+
+    private CubeOrientation then(CubeOrientation rotation) {
+        int[] composed = new int[6];
+
+        for (int face = 0; face < 6; face++) {
+            composed[face] = rotation.faces[faces[face]];
+        }
+
+        return new CubeOrientation((description + " " + rotation.description).trim(), composed);
+    }
+
+    /**
+     * Returns all 24 orientations of the cube, starting with the identity.
+     */
+    public static List<CubeOrientation> all() {
+        return ALL;
+    }
+
+    /**
+     * Returns one orientation bringing each of the six faces to the bottom, starting with the identity.
+     */
+    public static List<CubeOrientation> bottomFaces() {
+        List<CubeOrientation> orientations = new ArrayList<>();
+        boolean[] seen = new boolean[6];
+
+        for (CubeOrientation orientation : ALL) {
+            int bottom = orientation.inverseFaces[5];
+
+            if (!seen[bottom]) {
+                seen[bottom] = true;
+                orientations.add(orientation);
+            }
+        }
+
+        return orientations;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the move performing the same turn on the rotated cube.
+     */
+    public int rotateMove(int move) {
+        return faces[move / 3] * 3 + move % 3;
+    }
+
+    /**
+     * Returns the move on the original cube corresponding to a move on the rotated cube.
+     */
+    public int unrotateMove(int move) {
+        return inverseFaces[move / 3] * 3 + move % 3;
+    }
+}
@@ -0,0 +1,80 @@
+package cubesolver;
+
+/**
+ * The full state of the cube: the position of every edge and corner, and the orientation of the piece in
+ * every position, packed in the same way as in CubieCube. A scramble is applied to a state once, after which
+ * the coordinates of every step can be read from it, instead of replaying the scramble through the move
+ * tables of every solver.
+ */
+public final class CubeState {
+    public static final CubeState SOLVED = new CubeState(0xba9876543210L, 0, 0x76543210L, 0);
+
+    private final long edgePositions;
+    private final int edgeFlips;
+
+    private final long cornerPositions;
+    private final int cornerTwists;
+
+    private CubeState(long edgePositions, int edgeFlips, long cornerPositions, int cornerTwists) {
+        this.edgePositions = edgePositions;
+        this.edgeFlips = edgeFlips;
+        this.cornerPositions = cornerPositions;
+        this.cornerTwists = cornerTwists;
+    }
+
+    /**
+     * Returns the state after applying the given moves.
+     */
+    public CubeState apply(int[] moves) {
+        return apply(moves, CubeOrientation.IDENTITY);
+    }
+
+    /**
+     * Returns the state after applying the given moves, as seen from the given orientation of the cube.
+     */
+    public CubeState apply(int[] moves, CubeOrientation orientation) {
+        long edgePositions = this.edgePositions;
+        int edgeFlips = this.edgeFlips;
+        long cornerPositions = this.cornerPositions;
+        int cornerTwists = this.cornerTwists;
+
+        for (int move : moves) {
+            move = orientation.rotateMove(move);
+
+            edgePositions = CubieCube.packedPermutationMove(edgePositions, 12, move);
+            edgeFlips = CubieCube.packedOrientationMove(edgeFlips, move);
+            cornerPositions = CubieCube.packedCornerPermutationMove(cornerPositions, 8, move);
+            cornerTwists = CubieCube.packedCornerOrientationMove(cornerTwists, move);
+        }
+
+        return new CubeState(edgePositions, edgeFlips, cornerPositions, cornerTwists);
+    }
+
+    /**
+     * Returns the positions of all edges, with the position of edge i in the i-th group of four bits.
+     */
+    public long getEdgePositions() {
+        return edgePositions;
+    }
+
+    /**
+     * Returns the orientation of the edges, with one bit for every position.
+     */
+    public int getEdgeFlips() {
+        return edgeFlips;
+    }
+
+    /**
+     * Returns the positions of all corners, with the position of corner i in the i-th group of four bits.
+     */
+    public long getCornerPositions() {
+        return cornerPositions;
+    }
+
+    /**
+     * Returns the orientation of the corners, with two bits for every position.
+     */
+    public int getCornerTwists() {
+        return cornerTwists;
+    }
+}
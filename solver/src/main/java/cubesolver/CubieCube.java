@@ -1,3 +1,5 @@
+package cubesolver;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -136,4 +138,97 @@ public class CubieCube {
 
         return oriented;
     }
+
+    /*
+     * The moves below work on bit-packed cubies instead of lists, so that applying a move does not allocate.
+     * Edge orientations are packed with one bit per position and corner orientations with two bits per position.
+     * Permutations are stored as the positions of the tracked pieces, using four bits per piece.
+     * The tables describing the moves are derived from the list based definitions above.
+     */
+
+    // For every move, the position a piece at a given position is moved to.
+    private static final int[][] edgeTargets = new int[18][12];
+    private static final int[][] cornerTargets = new int[18][8];
+
+    // For every move, the positions which have their edge flipped after the move is applied.
+    private static final int[] edgeFlips = new int[18];
+
+    // For every move, the twist added to the corner which ends up in a given position.
+    private static final int[][] cornerTwists = new int[18][8];
+
+    static {
+        List<Integer> edges = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        List<Integer> corners = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7);
+
+        for (int move = 0; move < 18; move++) {
+            List<Integer> permutedEdges = permutationMove(edges, move);
+            List<Integer> flippedEdges = orientationMove(new ArrayList<>(Collections.nCopies(12, 0)), move);
+
+            for (int position = 0; position < 12; position++) {
+                edgeTargets[move][permutedEdges.get(position)] = position;
+                edgeFlips[move] |= flippedEdges.get(position) << position;
+            }
+
+            List<Integer> permutedCorners = cornerPermutationMove(corners, move);
+            List<Integer> twistedCorners = cornerOrientationMove(Collections.nCopies(8, 0), move);
+
+            for (int position = 0; position < 8; position++) {
+                cornerTargets[move][permutedCorners.get(position)] = position;
+                cornerTwists[move][position] = twistedCorners.get(position);
+            }
+        }
+    }
+
+    /**
+     * Returns the packed edge orientation after applying a move.
+     */
+    public static int packedOrientationMove(int flips, int move) {
+        int result = 0;
+
+        for (int position = 0; position < 12; position++) {
+            result |= ((flips >>> position) & 1) << edgeTargets[move][position];
+        }
+
+        return result ^ edgeFlips[move];
+    }
+
+    /**
+     * Returns the packed corner orientation after applying a move.
+     */
+    public static int packedCornerOrientationMove(int twists, int move) {
+        int result = 0;
+
+        for (int position = 0; position < 8; position++) {
+            int target = cornerTargets[move][position];
+            int twist = (((twists >>> (2 * position)) & 3) + cornerTwists[move][target]) % 3;
+            result |= twist << (2 * target);
+        }
+
+        return result;
+    }
+
+    private static long packedPermutationMove(long positions, int pieces, int[] targets) {
+        long result = 0;
+
+        for (int piece = 0; piece < pieces; piece++) {
+            int position = (int) (positions >>> (4 * piece)) & 0xf;
+            result |= (long) targets[position] << (4 * piece);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the packed positions of the given number of tracked edges after applying a move.
+     */
+    public static long packedPermutationMove(long positions, int pieces, int move) {
+        return packedPermutationMove(positions, pieces, edgeTargets[move]);
+    }
+
+    /**
+     * Returns the packed positions of the given number of tracked corners after applying a move.
+     */
+    public static long packedCornerPermutationMove(long positions, int pieces, int move) {
+        return packedPermutationMove(positions, pieces, cornerTargets[move]);
+    }
 }
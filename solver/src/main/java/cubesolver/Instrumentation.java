@@ -0,0 +1,62 @@
+package cubesolver;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * A process-wide switch for collecting search metrics, which may be flipped at runtime, for instance
+ * through JMX. While it is disabled, searches do not record anything besides what they need anyway.
+ * The initial state is taken from the cubesolver.instrumentation system property.
+ *
+ * Metrics are published through JMX under the cubesolver domain, and as JFR events.
+ */
+public class Instrumentation implements InstrumentationMBean {
+    private static volatile boolean enabled = Boolean.getBoolean("cubesolver.instrumentation");
+
+    public static boolean isInstrumented() {
+        return enabled;
+    }
+
+    public static void setInstrumented(boolean enabled) {
+        Instrumentation.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        Instrumentation.enabled = enabled;
+    }
+
+    private static void register(Object bean, String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(objectName)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(bean, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Error registering " + name + " with JMX");
+        }
+    }
+
+    /**
+     * Publishes the instrumentation switch, the table registry and the metrics and caches of the given solvers through JMX.
+     */
+    public static void registerMBeans(Iterable<Search> solvers) {
+        register(new Instrumentation(), "cubesolver:type=Instrumentation");
+        register(TableRegistry.getInstance(), "cubesolver:type=TableRegistry");
+
+        for (Search solver : solvers) {
+            register(solver.getMetrics(), "cubesolver:type=Search,name=" + ObjectName.quote(solver.getName()));
+
+            if (solver.getSolveCache() != null) {
+                register(solver.getSolveCache(), "cubesolver:type=SolveCache,name=" + ObjectName.quote(solver.getName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package cubesolver;
+
+public interface InstrumentationMBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+}
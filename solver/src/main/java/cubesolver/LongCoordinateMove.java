@@ -0,0 +1,9 @@
+package cubesolver;
+
+/**
+ * A move on a coordinate whose indexes may not fit in an int, used by the off-heap tables.
+ */
+@FunctionalInterface
+public interface LongCoordinateMove {
+    public long apply(long index, int move);
+}
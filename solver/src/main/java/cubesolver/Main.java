@@ -0,0 +1,208 @@
+package cubesolver;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+public class Main {
+    // The number of solved states every solver remembers, so that repeated states are answered without searching.
+    private static final int SOLVE_CACHE_SIZE = 1 << 16;
+
+    // Large pruning tables are already built in parallel, so a second thread is only there to let the smaller
+    // solvers become ready while a large table is being built.
+    private static final int WARMUP_THREADS = 2;
+
+    private static void timeSolve(Search search, String scramble, String description) {
+        long start = System.currentTimeMillis();
+        System.out.println(description + ": " + search.solveParallel(scramble) + " (" + (System.currentTimeMillis() - start) + " ms)");
+    }
+
+    /**
+     * Solves every scramble in the file at the given path and saves the solutions as they are found.
+     * If resume is set and an earlier run on the same file was interrupted, solving continues where it stopped.
+     * Returns false if the file could not be solved, in which case the solutions found so far are kept for resuming.
+     */
+    private static boolean solveAndSaveFile(BatchSolver solver, List<String> names, String path, boolean resume) {
+        Path output = Paths.get("solutions-" + path);
+
+        try {
+            SolutionWriter.Checkpoint checkpoint = resume ? SolutionWriter.readCheckpoint(output) : null;
+
+            if (checkpoint == null) {
+                checkpoint = new SolutionWriter.Checkpoint(0, 0);
+            } else {
+                System.out.println("Resuming from byte " + checkpoint.inputOffset);
+            }
+
+            try (ScrambleReader reader = new ScrambleReader(Paths.get(path), checkpoint.inputOffset);
+                 SolutionWriter writer = new SolutionWriter(output, names, checkpoint.outputOffset)) {
+                long start = System.currentTimeMillis();
+                int count;
+
+                try {
+                    count = solver.solve(reader, (scramble, solutions) -> {
+                        try {
+                            writer.write(scramble, solutions, reader.nextCheckpoint());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (IllegalStateException e) {
+                    // A scramble could not be solved. The scrambles before it are kept, so that the file can be
+                    // resumed once the scramble has been fixed.
+                    writer.checkpoint();
+
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Error solving file: " + cause.getMessage() + ", resume continues after the last saved scramble");
+                    return false;
+                }
+
+                writer.finish();
+
+                long time = Math.max(1, System.currentTimeMillis() - start);
+
+                System.out.println("Solved " + count + " scrambles in " + time + " ms (" + (count * 1000L / time) + " scrambles/s)");
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error solving file: " + e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates a solver for every step, in the order of the steps.
+     */
+    private static List<Search> createSolvers() {
+        List<Search> solvers = new ArrayList<>();
+
+        for (Step step : Step.values()) {
+            solvers.add(step.createSearch().enableSolveCache(SOLVE_CACHE_SIZE));
+        }
+
+        return solvers;
+    }
+
+    /**
+     * Starts initializing the solvers in the background, in the order of the steps, which puts the smallest tables first.
+     * The pruning table report and the total time are printed once every solver is initialized.
+     */
+    private static TableWarmup startWarmup(List<Search> solvers, TableStore store) {
+        System.out.println("Initializing solvers");
+
+        long initializationStart = System.currentTimeMillis();
+
+        TableWarmup warmup = new TableWarmup(solvers, store, WARMUP_THREADS);
+
+        warmup.whenReady().thenRun(() -> {
+            for (Search solver : solvers) {
+                for (String line : solver.getPruningTableReport()) {
+                    System.out.println(line);
+                }
+            }
+
+            System.out.println("Solvers initialized in " + (System.currentTimeMillis() - initializationStart) + " ms");
+
+            TableRegistry registry = TableRegistry.getInstance();
+            System.out.println("Shared " + registry.getDeduplicatedTables() + " tables between solvers, saving " + registry.getSavedBytes() / 1024 + " KB");
+        });
+
+        warmup.start();
+
+        return warmup;
+    }
+
+    /**
+     * Runs a solve server on the port given as the second argument, with as many workers as the third argument.
+     * The server accepts connections while the tables are built, and answers for steps which are already ready.
+     */
+    private static void serve(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : SolveServer.DEFAULT_PORT;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<Search> solvers = createSolvers();
+        TableWarmup warmup = startWarmup(solvers, new TableStore(Paths.get("tables")));
+
+        Instrumentation.registerMBeans(solvers);
+
+        try {
+            SolveServer server = new SolveServer(warmup, port, threads);
+            server.start();
+
+            System.out.println("Listening on port " + server.getPort());
+        } catch (IOException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve(args);
+            return;
+        }
+
+        TableStore store = new TableStore(Paths.get("tables"));
+
+        List<Search> solvers = createSolvers();
+        List<String> names = new ArrayList<>();
+
+        for (Search solver : solvers) {
+            names.add(solver.getName());
+        }
+
+        // Scrambles are accepted right away, with each solver initialized on demand if the warm-up has not reached it yet.
+        TableWarmup warmup = startWarmup(solvers, store);
+
+        Instrumentation.registerMBeans(solvers);
+
+        // The number of threads used to solve files may be given as the first argument.
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        BatchSolver batchSolver = new BatchSolver(solvers, threads);
+
+        // The full cube solver is only initialized the first time it is used.
+        TwoPhaseSolver twoPhaseSolver = new TwoPhaseSolver();
+
+        Scanner in = new Scanner(System.in);
+
+        do {
+            System.out.println("Scramble:");
+            String line = in.nextLine();
+
+            if (line.matches("^(load|resume) .+$")) {
+                // Every solver is needed for every scramble of a file.
+                for (Search solver : solvers) {
+                    warmup.get(solver);
+                }
+
+                if (solveAndSaveFile(batchSolver, names, line.replaceAll("^(load|resume)[ ]+", ""), line.startsWith("resume"))) {
+                    System.out.println("Solutions saved!");
+                }
+            } else if (line.matches("^neutral .+$") && Scrambles.validateSequence(line.replaceAll("^neutral[ ]+", ""))) {
+                // Solve every step on whichever face and slot gives the shortest solution.
+                String scramble = line.replaceAll("^neutral[ ]+", "");
+
+                for (int i = 0; i < solvers.size(); i++) {
+                    long start = System.currentTimeMillis();
+                    System.out.println(names.get(i) + ": " + warmup.get(solvers.get(i)).solve(scramble, CubeOrientation.all()) + " (" + (System.currentTimeMillis() - start) + " ms)");
+                }
+            } else if (line.matches("^full .+$") && Scrambles.validateSequence(line.replaceAll("^full[ ]+", ""))) {
+                twoPhaseSolver.initialize(store);
+
+                long start = System.currentTimeMillis();
+                SearchResult result = twoPhaseSolver.solve(line.replaceAll("^full[ ]+", ""), TwoPhaseSolver.DEFAULT_TARGET_LENGTH, SearchLimits.withTimeout(TwoPhaseSolver.DEFAULT_TIMEOUT));
+                System.out.println("Full cube: " + result + " (" + result.getDepth() + " moves, " + (System.currentTimeMillis() - start) + " ms)");
+            } else if (!Scrambles.validateSequence(line)) {
+                System.out.println("Unable to parse scramble");
+            } else {
+                for (int i = 0; i < solvers.size(); i++) {
+                    timeSolve(warmup.get(solvers.get(i)), line, names.get(i));
+                }
+            }
+        } while (in.hasNext());
+
+        in.close();
+    }
+}
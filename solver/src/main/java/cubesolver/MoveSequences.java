@@ -0,0 +1,49 @@
+package cubesolver;
+
+/**
+ * An automaton accepting the canonical move sequences, where no face is turned twice in a row and moves
+ * on opposite faces, which commute, are only performed in one order: F before B, R before L and U before D.
+ * Every sequence of moves can be shortened or reordered into a canonical sequence with the same effect, so
+ * searches only need to follow the canonical ones, which leaves about 13.35 moves to try after each move
+ * instead of 18.
+ *
+ * The state after a move is its face, and the allowed moves of a state are a bitmask with bit i set for move i.
+ */
+class MoveSequences {
+    // The state before any move has been performed.
+    static final int START = 6;
+
+    static final int ALL_MOVES = (1 << MoveTable.NUM_MOVES) - 1;
+
+    private static final int[] ALLOWED_MOVES = new int[START + 1];
+
+    static {
+        for (int state = 0; state < START; state++) {
+            int allowed = 0;
+
+            for (int face = 0; face < 6; face++) {
+                if (face != state && face != state - 3) {
+                    allowed |= 7 << (face * 3);
+                }
+            }
+
+            ALLOWED_MOVES[state] = allowed;
+        }
+
+        ALLOWED_MOVES[START] = ALL_MOVES;
+    }
+
+    /**
+     * Returns the bitmask of moves which may follow in the given state.
+     */
+    static int getAllowedMoves(int state) {
+        return ALLOWED_MOVES[state];
+    }
+
+    /**
+     * Returns the state after performing the given move.
+     */
+    static int getNextState(int move) {
+        return move / 3;
+    }
+}
@@ -0,0 +1,83 @@
+package cubesolver;
+
+import java.util.stream.IntStream;
+
+/**
+ * A move table maps an index and a move to the new index after performing the move.
+ * The table is stored as a single flat array where every index owns a row of 18 entries,
+ * one for each move. Tables with at most 65536 indexes are stored as chars, which halves
+ * the memory footprint compared to storing ints.
+ */
+public class MoveTable {
+    public static final int NUM_MOVES = 18;
+
+    // Every move, for tables which are built with all moves allowed.
+    static final int[] ALL_MOVES = IntStream.range(0, NUM_MOVES).toArray();
+
+    private char[] smallTable;
+    private int[] largeTable;
+
+    public MoveTable(int size, CoordinateMove doMove) {
+        createMoveTable(size, doMove);
+    }
+
+    /**
+     * Wraps an already computed table, for instance one loaded from a snapshot.
+     */
+    MoveTable(char[] smallTable) {
+        this.smallTable = smallTable;
+    }
+
+    MoveTable(int[] largeTable) {
+        this.largeTable = largeTable;
+    }
+
+    private void createMoveTable(int size, CoordinateMove doMove) {
+        if (size <= Character.MAX_VALUE + 1) {
+            smallTable = new char[size * NUM_MOVES];
+        } else {
+            largeTable = new int[Math.multiplyExact(size, NUM_MOVES)];
+        }
+
+        for (int i = 0; i < size; i += 1) {
+            for (int move = 0; move < 6; move += 1) {
+                for (int pow = 0; pow < 3; pow += 1) {
+                    int position = doMove.apply(i, move * 3 + pow);
+
+                    if (smallTable != null) {
+                        smallTable[i * NUM_MOVES + move * 3 + pow] = (char) position;
+                    } else {
+                        largeTable[i * NUM_MOVES + move * 3 + pow] = position;
+                    }
+                }
+            }
+        }
+    }
+
+    char[] getSmallTable() {
+        return smallTable;
+    }
+
+    int[] getLargeTable() {
+        return largeTable;
+    }
+
+    /**
+     * Returns the memory used by the table in bytes.
+     */
+    public long getByteSize() {
+        if (smallTable != null) {
+            return (long) smallTable.length * Character.BYTES;
+        }
+
+        return (long) largeTable.length * Integer.BYTES;
+    }
+
+    public int doMove(int index, int move) {
+        if (smallTable != null) {
+            return smallTable[index * NUM_MOVES + move];
+        }
+
+        return largeTable[index * NUM_MOVES + move];
+    }
+}
@@ -0,0 +1,83 @@
+package cubesolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The results of solving every step of a MultiStepSolver for one scramble, in the order of the steps.
+ */
+public class MultiStepResult {
+    private final String scramble;
+    private final List<String> steps;
+    private final List<SearchResult> results;
+
+    MultiStepResult(String scramble, List<String> steps, List<SearchResult> results) {
+        this.scramble = scramble;
+        this.steps = Collections.unmodifiableList(steps);
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    public String getScramble() {
+        return scramble;
+    }
+
+    /**
+     * Returns the names of the steps.
+     */
+    public List<String> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the result of every step, in the same order as the names.
+     */
+    public List<SearchResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the result of the step with the given name, or null if there is no such step.
+     */
+    public SearchResult getResult(String step) {
+        int index = steps.indexOf(step);
+        return index != -1 ? results.get(index) : null;
+    }
+
+    /**
+     * Returns the solution of every step, with an empty sequence for steps where no solution was found.
+     */
+    public List<String> getSolutions() {
+        List<String> solutions = new ArrayList<>();
+
+        for (SearchResult result : results) {
+            solutions.add(result.getSolution() != null ? result.getSolution() : Scrambles.formatMoveSequence(Collections.emptyList()));
+        }
+
+        return solutions;
+    }
+
+    /**
+     * Returns the number of nodes visited by the searches of all steps.
+     */
+    public long getNodes() {
+        long nodes = 0;
+
+        for (SearchResult result : results) {
+            nodes += result.getNodes();
+        }
+
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < steps.size(); i++) {
+            builder.append(steps.get(i)).append(": ").append(results.get(i)).append('\n');
+        }
+
+        return builder.toString();
+    }
+}
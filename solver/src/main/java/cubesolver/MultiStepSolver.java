@@ -0,0 +1,78 @@
+package cubesolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Solves several steps for the same scramble. The scramble is parsed and applied to the full cube once for
+ * every orientation, and the coordinates of each step are read from the resulting states, instead of every
+ * solver parsing the scramble and replaying it through its own move tables.
+ *
+ * Steps are solved in the order they are given, which should be by increasing cost, so that the cheap steps
+ * are done by the time the expensive ones start, or all at once with solveParallel.
+ */
+public class MultiStepSolver {
+    private final List<Search> solvers;
+    private final List<String> names = new ArrayList<>();
+
+    public MultiStepSolver(List<Search> solvers) {
+        this.solvers = new ArrayList<>(solvers);
+
+        for (Search solver : solvers) {
+            names.add(solver.getName());
+        }
+    }
+
+    public List<Search> getSolvers() {
+        return solvers;
+    }
+
+    private CubeState[] getStates(String scramble, List<CubeOrientation> orientations) {
+        int[] moves = Scrambles.parseMoves(scramble);
+        CubeState[] states = new CubeState[orientations.size()];
+
+        for (int i = 0; i < states.length; i++) {
+            states[i] = CubeState.SOLVED.apply(moves, orientations.get(i));
+        }
+
+        return states;
+    }
+
+    /**
+     * Solves every step for the scramble in its own orientation.
+     */
+    public MultiStepResult solve(String scramble) {
+        return solve(scramble, Collections.singletonList(CubeOrientation.IDENTITY), SearchLimits.NONE);
+    }
+
+    /**
+     * Solves every step in turn, each in whichever of the given orientations gives the shortest solution,
+     * as Search.solve would. The limits are shared by all steps, so a deadline is for the whole scramble.
+     * Throws an IllegalArgumentException if the scramble is not valid.
+     */
+    public MultiStepResult solve(String scramble, List<CubeOrientation> orientations, SearchLimits limits) {
+        CubeState[] states = getStates(scramble, orientations);
+        SearchResult[] results = new SearchResult[solvers.size()];
+
+        for (int i = 0; i < results.length; i++) {
+            results[i] = solvers.get(i).solve(states, orientations, limits, false);
+        }
+
+        return new MultiStepResult(scramble, names, Arrays.asList(results));
+    }
+
+    /**
+     * Solves the steps like solve, but all at once as parallel tasks, which gives the same results with lower latency.
+     */
+    public MultiStepResult solveParallel(String scramble, List<CubeOrientation> orientations, SearchLimits limits) {
+        CubeState[] states = getStates(scramble, orientations);
+        SearchResult[] results = new SearchResult[solvers.size()];
+
+        IntStream.range(0, results.length).parallel().forEach(i -> results[i] = solvers.get(i).solve(states, orientations, limits, false));
+
+        return new MultiStepResult(scramble, names, Arrays.asList(results));
+    }
+}
@@ -0,0 +1,66 @@
+package cubesolver;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A fixed size block of memory outside the Java heap, which may be larger than 2 GB. As a single direct
+ * buffer is limited to an int capacity, the memory is split into segments of 1 GB. Ints are always
+ * accessed at offsets which are a multiple of four, so no int crosses the border between two segments.
+ *
+ * The memory is released when the buffer is garbage collected. The amount of direct memory a process may
+ * use is limited by -XX:MaxDirectMemorySize, which defaults to the maximum heap size.
+ */
+class OffHeapBuffer {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private static final VarHandle INT_ELEMENT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] segments;
+    private final long size;
+
+    OffHeapBuffer(long size) {
+        // Round up, so that the last int of the buffer is complete.
+        this.size = (size + 3) & ~3L;
+
+        segments = new ByteBuffer[(int) ((this.size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            segments[i] = ByteBuffer.allocateDirect((int) Math.min(SEGMENT_MASK + 1, this.size - start)).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    private ByteBuffer segment(long offset) {
+        return segments[(int) (offset >>> SEGMENT_BITS)];
+    }
+
+    int getInt(long offset) {
+        return segment(offset).getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    void putInt(long offset, int value) {
+        segment(offset).putInt((int) (offset & SEGMENT_MASK), value);
+    }
+
+    int getIntVolatile(long offset) {
+        return (int) INT_ELEMENT.getVolatile(segment(offset), (int) (offset & SEGMENT_MASK));
+    }
+
+    boolean compareAndSetInt(long offset, int expected, int value) {
+        return INT_ELEMENT.compareAndSet(segment(offset), (int) (offset & SEGMENT_MASK), expected, value);
+    }
+
+    void fill(int value) {
+        for (long offset = 0; offset < size; offset += Integer.BYTES) {
+            putInt(offset, value);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package cubesolver;
+
+import java.util.Collection;
+
+/**
+ * A pruning table for coordinates with too many indexes to fit in a PruningTable. The table is computed
+ * by the same search, but indexes are longs and the packed values are stored outside the Java heap.
+ * Values are updated with compare-and-set on the int containing them, which holds eight indexes.
+ */
+public class OffHeapPruningTable extends PackedPruningTable {
+    private final OffHeapBuffer table;
+
+    /**
+     * Creates a table where only the given moves are allowed. Every allowed move must have its inverse
+     * among the allowed moves.
+     */
+    public OffHeapPruningTable(long size, LongCoordinateMove doMove, int[] moves, Collection<Long> solvedIndexes) {
+        table = new OffHeapBuffer((size + 1) / 2);
+
+        table.fill(-1);
+
+        computePruningTable(size, doMove, moves, solvedIndexes);
+    }
+
+    /**
+     * Returns the memory used by the table in bytes.
+     */
+    public long getByteSize() {
+        return table.size();
+    }
+
+    private static long getOffset(long index) {
+        return (index >>> 3) * Integer.BYTES;
+    }
+
+    public byte getPruningValue(long index) {
+        return (byte) ((table.getInt(getOffset(index)) >>> ((index & 7) * 4)) & 0x0f);
+    }
+
+    @Override
+    byte getValue(long index) {
+        return getPruningValue(index);
+    }
+
+    @Override
+    boolean trySetValue(long index, byte value) {
+        long offset = getOffset(index);
+        int shift = (int) (index & 7) * 4;
+
+        while (true) {
+            int current = table.getIntVolatile(offset);
+
+            if (((current >>> shift) & 0x0f) != 0x0f) {
+                return false;
+            }
+
+            if (table.compareAndSetInt(offset, current, (current & ~(0x0f << shift)) | (value << shift))) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package cubesolver;
+
+import java.util.Collection;
+import java.util.stream.LongStream;
+
+/**
+ * A pruning table holding the value of every index in four bits, where the value 0x0f marks indexes which have
+ * not been visited yet. The subclasses decide where the values are stored, and share the breadth first search
+ * which computes them.
+ */
+abstract class PackedPruningTable {
+    private static final long PARALLEL_THRESHOLD = 1 << 16;
+    private static final long CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Returns the value of the given index, or 0x0f if it has not been visited yet.
+     */
+    abstract byte getValue(long index);
+
+    /**
+     * Atomically sets the value of an index which has not been visited yet, so that several threads may update
+     * indexes stored next to each other. Returns false if the index was already visited.
+     */
+    abstract boolean trySetValue(long index, byte value);
+
+    /**
+     * Visits all unvisited neighbours of the indexes at the given depth in the range from start up to end.
+     * Returns the number of new indexes which were found.
+     */
+    private long expandForward(long start, long end, int depth, LongCoordinateMove doMove, int[] moves) {
+        long found = 0;
+
+        for (long index = start; index < end; index++) {
+            if (getValue(index) != depth) {
+                continue;
+            }
+
+            for (int move : moves) {
+                if (trySetValue(doMove.apply(index, move), (byte) (depth + 1))) {
+                    found++;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Checks for every unvisited index in the range from start up to end whether any of its neighbours
+     * are at the given depth. As every move has an inverse, this finds the same indexes as expanding forward,
+     * but is cheaper when most of the remaining indexes are about to be visited.
+     */
+    private long expandBackward(long start, long end, int depth, LongCoordinateMove doMove, int[] moves) {
+        long found = 0;
+
+        for (long index = start; index < end; index++) {
+            if (getValue(index) != 0x0f) {
+                continue;
+            }
+
+            for (int move : moves) {
+                if (getValue(doMove.apply(index, move)) == depth) {
+                    if (trySetValue(index, (byte) (depth + 1))) {
+                        found++;
+                    }
+
+                    break;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    private long expand(long size, int depth, LongCoordinateMove doMove, int[] moves, boolean backward) {
+        if (size < PARALLEL_THRESHOLD) {
+            return backward ? expandBackward(0, size, depth, doMove, moves) : expandForward(0, size, depth, doMove, moves);
+        }
+
+        // Chunks start at multiples of eight, so no byte or int holding several values is shared between two
+        // chunks when expanding backward.
+        long chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        return LongStream.range(0, chunks).parallel().map(chunk -> {
+            long start = chunk * CHUNK_SIZE;
+            long end = Math.min(size, start + CHUNK_SIZE);
+
+            return backward ? expandBackward(start, end, depth, doMove, moves) : expandForward(start, end, depth, doMove, moves);
+        }).sum();
+    }
+
+    /**
+     * Computes the table with a breadth first search, one depth at a time, where every index must start out
+     * unvisited. The search stops as soon as a depth does not find any new indexes. Large tables are expanded
+     * in parallel on the common ForkJoinPool.
+     */
+    void computePruningTable(long size, LongCoordinateMove doMove, int[] moves, Collection<? extends Number> solvedIndexes) {
+        long frontier = 0;
+
+        for (Number index : solvedIndexes) {
+            if (trySetValue(index.longValue(), (byte) 0)) {
+                frontier++;
+            }
+        }
+
+        long unvisited = size - frontier;
+
+        // The value 0x0f marks unvisited indexes, so the deepest value we can store is 14.
+        for (int depth = 0; depth < 14 && frontier > 0; depth++) {
+            frontier = expand(size, depth, doMove, moves, frontier > unvisited);
+            unvisited -= frontier;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package cubesolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A pruning table over the product of several coordinates of a Search. Its values are the number of moves
+ * needed to solve all of the coordinates at once, which is usually more than the maximum of the tables for
+ * the separate coordinates, at the cost of a table as large as the product of the coordinate sizes.
+ *
+ * The coordinates are combined into a single index, with the first coordinate as the most significant digit.
+ * Products with more than Integer.MAX_VALUE indexes are stored off-heap, and are not saved to the table store.
+ */
+class ProductPruningTable {
+    private final int[] coordinates;
+    private final int[] sizes;
+    private final MoveTable[] moveTables;
+
+    // The value the coordinates are multiplied by in the combined index, in the same order as the coordinates.
+    private final long[] strides;
+
+    // The value each coordinate of a search is multiplied by in the combined index, or 0 if it is not part of the product.
+    private final long[] searchStrides;
+
+    private final long size;
+
+    private PruningTable table;
+    private OffHeapPruningTable largeTable;
+
+    /**
+     * Creates the table for the given coordinates of a search, identified by their position in the coordinate
+     * array of the search, which has the given number of coordinates. The solved indexes of the product are all
+     * combinations of the solved values of every coordinate.
+     */
+    ProductPruningTable(String key, TableStore store, int[] coordinates, Coordinate[] parts, int searchCoordinates) {
+        this(key, store, coordinates, parts, searchCoordinates, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates the table like the constructor above, but stores it off-heap if it has more than the given number
+     * of indexes, so that tests can reach the off-heap table without a product of more than 2^31 indexes.
+     */
+    ProductPruningTable(String key, TableStore store, int[] coordinates, Coordinate[] parts, int searchCoordinates, long maximumHeapSize) {
+        this.coordinates = coordinates;
+
+        sizes = new int[parts.length];
+        moveTables = new MoveTable[parts.length];
+        strides = new long[parts.length];
+        searchStrides = new long[searchCoordinates];
+
+        List<Collection<Integer>> solvedValues = new ArrayList<>();
+
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = parts[i].getSize();
+            moveTables[i] = parts[i].getMoveTable();
+            solvedValues.add(parts[i].getSolvedValues());
+        }
+
+        long stride = 1;
+
+        for (int i = coordinates.length - 1; i >= 0; i--) {
+            strides[i] = stride;
+            searchStrides[coordinates[i]] = stride;
+            stride = Math.multiplyExact(stride, sizes[i]);
+        }
+
+        size = stride;
+
+        List<Long> solvedIndexes = new ArrayList<>();
+        solvedIndexes.add(0L);
+
+        for (int i = 0; i < coordinates.length; i++) {
+            List<Long> combined = new ArrayList<>();
+
+            for (Long index : solvedIndexes) {
+                for (Integer value : solvedValues.get(i)) {
+                    combined.add(index * sizes[i] + value);
+                }
+            }
+
+            solvedIndexes = combined;
+        }
+
+        if (size <= maximumHeapSize) {
+            List<Integer> solved = new ArrayList<>();
+
+            for (Long index : solvedIndexes) {
+                solved.add(index.intValue());
+            }
+
+            CoordinateMove doMove = (index, move) -> (int) doMove(index, move);
+
+            table = TableRegistry.getInstance().getPruningTable(key, () -> {
+                if (store == null) {
+                    return new PruningTable((int) size, doMove, MoveTable.ALL_MOVES, solved);
+                }
+
+                return store.loadPruningTable(key, (int) size, () -> new PruningTable((int) size, doMove, MoveTable.ALL_MOVES, solved));
+            });
+        } else {
+            largeTable = new OffHeapPruningTable(size, this::doMove, MoveTable.ALL_MOVES, solvedIndexes);
+        }
+    }
+
+    private long doMove(long index, int move) {
+        long result = 0;
+        long stride = 1;
+
+        for (int i = coordinates.length - 1; i >= 0; i--) {
+            int value = (int) (index % sizes[i]);
+            index /= sizes[i];
+
+            result += moveTables[i].doMove(value, move) * stride;
+            stride *= sizes[i];
+        }
+
+        return result;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    boolean isOffHeap() {
+        return largeTable != null;
+    }
+
+    long getByteSize() {
+        return table != null ? table.getByteSize() : largeTable.getByteSize();
+    }
+
+    /**
+     * Returns the values of the coordinates of the product for a combined index, in the same order as the coordinates.
+     */
+    int[] getValues(long index) {
+        int[] values = new int[coordinates.length];
+
+        for (int i = coordinates.length - 1; i >= 0; i--) {
+            values[i] = (int) (index % sizes[i]);
+            index /= sizes[i];
+        }
+
+        return values;
+    }
+
+    int[] getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * Returns the pruning value for the coordinates of a search stored in an array, starting from the given
+     * offset with the given distance between the coordinates.
+     */
+    byte getPruningValue(int[] values, int offset, int stride) {
+        long index = 0;
+
+        for (int i = 0; i < coordinates.length; i++) {
+            index += values[offset + coordinates[i] * stride] * strides[i];
+        }
+
+        return getPruningValue(index);
+    }
+
+    /**
+     * Returns the pruning value for the coordinates of a search with two coordinates.
+     */
+    byte getPruningValue(int first, int second) {
+        return getPruningValue(first * searchStrides[0] + second * searchStrides[1]);
+    }
+
+    /**
+     * Returns the pruning value for the coordinates of a search with four coordinates.
+     */
+    byte getPruningValue(int first, int second, int third, int fourth) {
+        return getPruningValue(first * searchStrides[0] + second * searchStrides[1] + third * searchStrides[2] + fourth * searchStrides[3]);
+    }
+
+    byte getPruningValue(long index) {
+        if (table != null) {
+            return table.getPruningValue((int) index);
+        }
+
+        return largeTable.getPruningValue(index);
+    }
+}
@@ -0,0 +1,85 @@
+package cubesolver;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+public class PruningTable extends PackedPruningTable {
+    private static final VarHandle TABLE_ELEMENT = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private byte[] table;
+
+    public PruningTable(int size, MoveTable moveTable, int defaultPosition) {
+        this(size, moveTable, new HashSet(Arrays.asList(defaultPosition)));
+    }
+
+    public PruningTable(int size, MoveTable moveTable, Collection<Integer> solvedIndexes) {
+        this(size, moveTable::doMove, MoveTable.ALL_MOVES, solvedIndexes);
+    }
+
+    /**
+     * Creates a table for a coordinate which is not backed by a single move table, for instance the
+     * product of two coordinates, where only the given moves are allowed. Every allowed move must
+     * have its inverse among the allowed moves.
+     */
+    public PruningTable(int size, CoordinateMove doMove, int[] moves, Collection<Integer> solvedIndexes) {
+        table = new byte[(size + 1) / 2];
+
+        Arrays.fill(table, (byte) -1);
+
+        computePruningTable(size, (index, move) -> doMove.apply((int) index, move), moves, solvedIndexes);
+    }
+
+    /**
+     * Wraps an already computed table, for instance one loaded from a snapshot.
+     */
+    PruningTable(byte[] table) {
+        this.table = table;
+    }
+
+    byte[] getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the memory used by the table in bytes.
+     */
+    public long getByteSize() {
+        return table.length;
+    }
+
+    public byte getPruningValue(int index) {
+        if ((index & 1) == 0) {
+            return (byte) (table[index / 2] & 0x0f);
+        } else {
+            return (byte) ((table[index / 2] & 0xf0) >>> 4);
+        }
+    }
+
+    @Override
+    byte getValue(long index) {
+        return getPruningValue((int) index);
+    }
+
+    @Override
+    boolean trySetValue(long index, byte value) {
+        int shift = (int) (index & 1) * 4;
+        int offset = (int) (index / 2);
+
+        while (true) {
+            byte current = (byte) TABLE_ELEMENT.getVolatile(table, offset);
+
+            if (((current >>> shift) & 0x0f) != 0x0f) {
+                return false;
+            }
+
+            byte updated = (byte) ((current & ~(0x0f << shift)) | (value << shift));
+
+            if (TABLE_ELEMENT.compareAndSet(table, offset, current, updated)) {
+                return true;
+            }
+        }
+    }
+}
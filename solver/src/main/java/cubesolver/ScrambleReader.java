@@ -0,0 +1,136 @@
+package cubesolver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads valid scrambles from a file one line at a time, so that files of any size can be solved
+ * in constant memory. Lines which are not valid scrambles are skipped.
+ *
+ * The reader remembers the file offset following every scramble it has returned. These offsets are
+ * handed out again in the same order by nextCheckpoint, which lets a caller that consumes the scrambles
+ * later than they were read know where to resume reading from.
+ */
+public class ScrambleReader implements Iterator<String>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    // The bytes of the line being read, which grows when a line does not fit.
+    private byte[] line = new byte[256];
+    private int lineLength;
+
+    // The offset in the file of the next byte in the buffer.
+    private long offset;
+
+    private String next;
+    private long nextOffset;
+
+    private final Deque<Long> checkpoints = new ArrayDeque<>();
+
+    public ScrambleReader(Path path, long offset) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.channel.position(offset);
+        this.offset = offset;
+
+        buffer.flip();
+
+        advance();
+    }
+
+    /**
+     * Returns the next line without the line terminator, or null at the end of the file.
+     */
+    private String readLine() throws IOException {
+        lineLength = 0;
+
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+
+                if (read == -1) {
+                    return lineLength > 0 ? decodeLine() : null;
+                }
+            }
+
+            byte value = buffer.get();
+            offset++;
+
+            if (value == '\n') {
+                // Lines ending with \r\n are read without the \r.
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+
+                return decodeLine();
+            }
+
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+
+            line[lineLength++] = value;
+        }
+    }
+
+    private String decodeLine() {
+        return new String(line, 0, lineLength, StandardCharsets.UTF_8);
+    }
+
+    private void advance() throws IOException {
+        do {
+            next = readLine();
+        } while (next != null && !Scrambles.validateSequence(next));
+
+        nextOffset = offset;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+
+        String scramble = next;
+        checkpoints.add(nextOffset);
+
+        try {
+            advance();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return scramble;
+    }
+
+    /**
+     * Returns the file offset following the oldest returned scramble which has not been checkpointed yet.
+     */
+    public long nextCheckpoint() {
+        return checkpoints.remove();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
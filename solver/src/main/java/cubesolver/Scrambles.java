@@ -0,0 +1,278 @@
+package cubesolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class Scrambles {
+    private static final String FACES = "FRUBLD";
+
+    // The count of an encoded sequence is stored in a single byte.
+    public static final int MAX_ENCODED_MOVES = 255;
+
+    // Every move is encoded with five bits, which is enough for the 18 moves.
+    private static final int BITS_PER_MOVE = 5;
+
+    private static int getFace(char c) {
+        switch (c) {
+            case 'F': return 0;
+            case 'R': return 1;
+            case 'U': return 2;
+            case 'B': return 3;
+            case 'L': return 4;
+            case 'D': return 5;
+            default: return -1;
+        }
+    }
+
+    /**
+     * Scans a sequence of moves separated by whitespace in a single pass, writing the moves to whichever of the
+     * arrays is not null. Returns the number of moves, or -1 - position if the move at that position is not valid.
+     */
+    private static int scan(CharSequence sequence, int[] ints, byte[] bytes) {
+        int length = sequence.length();
+        int count = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (sequence.charAt(i) <= ' ') {
+                continue;
+            }
+
+            int start = i;
+            int face = getFace(sequence.charAt(i));
+
+            if (face == -1) {
+                return -1 - start;
+            }
+
+            int pow = 0;
+
+            if (i + 1 < length && sequence.charAt(i + 1) > ' ') {
+                char suffix = sequence.charAt(++i);
+
+                if (suffix == '2') {
+                    pow = 1;
+                } else if (suffix == '\'') {
+                    pow = 2;
+                } else {
+                    return -1 - start;
+                }
+
+                if (i + 1 < length && sequence.charAt(i + 1) > ' ') {
+                    return -1 - start;
+                }
+            }
+
+            if ((ints != null && count == ints.length) || (bytes != null && count == bytes.length)) {
+                throw new IllegalArgumentException("More than " + count + " moves in scramble " + sequence);
+            }
+
+            if (ints != null) {
+                ints[count] = face * 3 + pow;
+            }
+
+            if (bytes != null) {
+                bytes[count] = (byte) (face * 3 + pow);
+            }
+
+            count++;
+        }
+
+        return count;
+    }
+
+    private static int checkScan(CharSequence scramble, int result) {
+        if (result < 0) {
+            throw new IllegalArgumentException("Invalid move at position " + (-1 - result) + " of scramble " + scramble);
+        }
+
+        return result;
+    }
+
+    // Returns true if we are able to parse this sequence, false if not.
+    public static boolean validateSequence(String sequence) {
+        return scan(sequence, null, null) > 0;
+    }
+
+    /**
+     * Parses a scramble into the given array without allocating, and returns the number of moves. Throws an
+     * IllegalArgumentException if the scramble is not valid or has more moves than fit in the array.
+     */
+    public static int parseMoves(CharSequence scramble, int[] moves) {
+        return checkScan(scramble, scan(scramble, moves, null));
+    }
+
+    /**
+     * Parses a scramble into the given array like parseMoves, with one byte for every move.
+     */
+    public static int parseMoves(CharSequence scramble, byte[] moves) {
+        return checkScan(scramble, scan(scramble, null, moves));
+    }
+
+    /**
+     * Parses a scramble into an array of moves. Throws an IllegalArgumentException if the scramble is not valid.
+     */
+    public static int[] parseMoves(String scramble) {
+        // Every move takes at least one character and a separator, except the last.
+        int[] moves = new int[(scramble.length() + 1) / 2];
+        int count = parseMoves(scramble, moves);
+
+        return Arrays.copyOf(moves, count);
+    }
+
+    public static List<Integer> parseScramble(String scramble) {
+        int[] moves = parseMoves(scramble);
+        List<Integer> list = new ArrayList<>(moves.length);
+
+        for (int move : moves) {
+            list.add(move);
+        }
+
+        return list;
+    }
+
+    /**
+     * Appends a move to the builder, preceded by a space.
+     */
+    public static StringBuilder appendMove(StringBuilder builder, int move) {
+        builder.append(' ').append(FACES.charAt(move / 3));
+
+        switch (move % 3) {
+            case 1:
+                builder.append('2');
+                break;
+            case 2:
+                builder.append('\'');
+                break;
+        }
+
+        return builder;
+    }
+
+    /**
+     * Appends the moves in the given range of the array to the builder, in the same format as formatMoveSequence.
+     */
+    public static StringBuilder appendMoveSequence(StringBuilder builder, int[] moves, int from, int to) {
+        for (int i = from; i < to; i++) {
+            appendMove(builder, moves[i]);
+        }
+
+        return builder;
+    }
+
+    public static String formatMoveSequence(List<Integer> moves) {
+        StringBuilder builder = new StringBuilder(moves.size() * 3);
+
+        for (Integer move : moves) {
+            appendMove(builder, move);
+        }
+
+        return builder.toString();
+    }
+
+    /*
+     * Sequences are encoded compactly for files and the network as a byte with the number of moves, followed by
+     * five bits for every move, starting with the most significant bit of each byte and padded with zeros.
+     */
+
+    /**
+     * Returns the number of bytes needed to encode a sequence of the given number of moves.
+     */
+    public static int getEncodedLength(int count) {
+        return 1 + (count * BITS_PER_MOVE + 7) / 8;
+    }
+
+    /**
+     * Encodes the first count moves of the array at the given offset of the output, and returns the number of bytes written.
+     */
+    public static int encodeMoves(int[] moves, int count, byte[] output, int offset) {
+        if (count > MAX_ENCODED_MOVES) {
+            throw new IllegalArgumentException("Cannot encode more than " + MAX_ENCODED_MOVES + " moves");
+        }
+
+        output[offset] = (byte) count;
+
+        int position = offset + 1;
+        int buffer = 0;
+        int bits = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (moves[i] < 0 || moves[i] >= MoveTable.NUM_MOVES) {
+                throw new IllegalArgumentException("Invalid move " + moves[i]);
+            }
+
+            buffer = (buffer << BITS_PER_MOVE) | moves[i];
+            bits += BITS_PER_MOVE;
+
+            if (bits >= 8) {
+                bits -= 8;
+                output[position++] = (byte) (buffer >>> bits);
+                buffer &= (1 << bits) - 1;
+            }
+        }
+
+        if (bits > 0) {
+            output[position++] = (byte) (buffer << (8 - bits));
+        }
+
+        return position - offset;
+    }
+
+    /**
+     * Decodes the sequence at the given offset of the input into the array, and returns the number of moves.
+     * The sequence takes up getEncodedLength of that many bytes.
+     */
+    public static int decodeMoves(byte[] input, int offset, int[] moves) {
+        if (offset < 0 || offset >= input.length) {
+            throw new IllegalArgumentException("No encoded sequence at offset " + offset);
+        }
+
+        int count = input[offset] & 0xff;
+
+        if (count > moves.length) {
+            throw new IllegalArgumentException("More than " + moves.length + " moves in encoded sequence");
+        }
+
+        if (getEncodedLength(count) > input.length - offset) {
+            throw new IllegalArgumentException("Encoded sequence of " + count + " moves is truncated");
+        }
+
+        int position = offset + 1;
+        int buffer = 0;
+        int bits = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (bits < BITS_PER_MOVE) {
+                buffer = (buffer << 8) | (input[position++] & 0xff);
+                bits += 8;
+            }
+
+            bits -= BITS_PER_MOVE;
+
+            int move = buffer >>> bits;
+            buffer &= (1 << bits) - 1;
+
+            if (move >= MoveTable.NUM_MOVES) {
+                throw new IllegalArgumentException("Invalid encoded move " + move);
+            }
+
+            moves[i] = move;
+        }
+
+        return count;
+    }
+
+    public static byte[] encodeMoves(int[] moves) {
+        byte[] output = new byte[getEncodedLength(moves.length)];
+        encodeMoves(moves, moves.length, output, 0);
+
+        return output;
+    }
+
+    public static int[] decodeMoves(byte[] input) {
+        int[] moves = new int[MAX_ENCODED_MOVES];
+        int count = decodeMoves(input, 0, moves);
+
+        return Arrays.copyOf(moves, count);
+    }
+}
@@ -0,0 +1,1411 @@
+package cubesolver;
+
+import javax.print.attribute.IntegerSyntax;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class Search {
+    /**
+     * The kinds of the coordinates created by the factory methods of Coordinate.
+     */
+    public enum CoordinateKind {
+        EDGE_ORIENTATION("edge-orientation", SearchMetrics.ORIENTATION_TABLE),
+        EDGE_PERMUTATION("edge-permutation", SearchMetrics.PERMUTATION_TABLE),
+        CORNER_ORIENTATION("corner-orientation", SearchMetrics.CORNER_ORIENTATION_TABLE),
+        CORNER_PERMUTATION("corner-permutation", SearchMetrics.CORNER_PERMUTATION_TABLE);
+
+        private final String description;
+
+        // The table the cutoffs of coordinates of this kind are counted under in the search metrics.
+        private final int metricsTable;
+
+        CoordinateKind(String description, int metricsTable) {
+            this.description = description;
+            this.metricsTable = metricsTable;
+        }
+
+        String getDescription() {
+            return description;
+        }
+
+        int getMetricsTable() {
+            return metricsTable;
+        }
+    }
+
+    // The number of moves performed before splitting the search into parallel tasks.
+    private static final int SPLIT_PLIES = 2;
+
+    // Every cube is solvable with a depth of 20. However, such depths are too slow to ever end up solved.
+    private static final int MAX_DEPTH = 20;
+
+    // The number of indexes sampled to estimate the average bound of a product pruning table.
+    private static final int REPORT_SAMPLES = 1 << 20;
+
+    private volatile boolean initialized = false;
+
+    // The coordinates tracked by the search. Their tables are copied into arrays in the same order when the
+    // solver is initialized, and the coordinates of a position are stored in that order as well.
+    private final Coordinate[] coordinates;
+    private MoveTable[] moveTables;
+    private PruningTable[] pruningTables;
+
+    // The table the cutoffs of every coordinate are counted for, as in SearchMetrics.
+    private final int[] cutoffTables;
+
+    private final List<int[]> productTableCoordinates = new ArrayList<>();
+    private ProductPruningTable[] productTables = new ProductPruningTable[0];
+    private final List<String> pruningTableReport = new ArrayList<>();
+
+    private volatile SolveCache cache;
+
+    private volatile boolean batchedExpansion = false;
+
+    private final String name;
+    private final SearchMetrics metrics = new SearchMetrics();
+
+    public Search(List<Integer> affectedPermutationPieces, List<Integer> affectedOrientationPieces, List<Integer> affectedCornerOrientationPieces, List<Integer> affectedCornerPermutationPieces) {
+        this(null, affectedPermutationPieces, affectedOrientationPieces, affectedCornerOrientationPieces, affectedCornerPermutationPieces);
+    }
+
+    /**
+     * Creates a solver with a name, which is used when publishing its metrics. The solver tracks the coordinates
+     * of the pieces in each of the lists, and coordinates with a null list are not tracked.
+     */
+    public Search(String name, List<Integer> affectedPermutationPieces, List<Integer> affectedOrientationPieces, List<Integer> affectedCornerOrientationPieces, List<Integer> affectedCornerPermutationPieces) {
+        this(name != null ? name : Coordinate.formatPieces(affectedPermutationPieces) + " " + Coordinate.formatPieces(affectedOrientationPieces) + " "
+                        + Coordinate.formatPieces(affectedCornerOrientationPieces) + " " + Coordinate.formatPieces(affectedCornerPermutationPieces),
+                createCoordinates(affectedPermutationPieces, affectedOrientationPieces, affectedCornerOrientationPieces, affectedCornerPermutationPieces));
+    }
+
+    /**
+     * Creates a solver for a step which is solved when all of the given coordinates are solved.
+     */
+    public Search(String name, List<Coordinate> coordinates) {
+        if (coordinates.isEmpty()) {
+            throw new IllegalArgumentException("A solver needs at least one coordinate");
+        }
+
+        this.name = name;
+        this.coordinates = coordinates.toArray(new Coordinate[0]);
+
+        cutoffTables = new int[this.coordinates.length];
+
+        for (int i = 0; i < cutoffTables.length; i++) {
+            CoordinateKind kind = this.coordinates[i].getKind();
+            cutoffTables[i] = kind != null ? kind.getMetricsTable() : SearchMetrics.OTHER_TABLE;
+        }
+    }
+
+    private static List<Coordinate> createCoordinates(List<Integer> affectedPermutationPieces, List<Integer> affectedOrientationPieces, List<Integer> affectedCornerOrientationPieces, List<Integer> affectedCornerPermutationPieces) {
+        List<Coordinate> coordinates = new ArrayList<>();
+
+        if (affectedOrientationPieces != null) {
+            coordinates.add(Coordinate.edgeOrientation(affectedOrientationPieces));
+        }
+
+        if (affectedPermutationPieces != null) {
+            coordinates.add(Coordinate.edgePermutation(affectedPermutationPieces));
+        }
+
+        if (affectedCornerOrientationPieces != null) {
+            coordinates.add(Coordinate.cornerOrientation(affectedCornerOrientationPieces));
+        }
+
+        if (affectedCornerPermutationPieces != null) {
+            coordinates.add(Coordinate.cornerPermutation(affectedCornerPermutationPieces));
+        }
+
+        return coordinates;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Adds a pruning table over the product of the tracked coordinates of the given kinds, like
+     * addProductPruningTable(Coordinate...). Each kind must be tracked exactly once by this solver.
+     */
+    public Search addProductPruningTable(CoordinateKind... kinds) {
+        Coordinate[] coordinates = new Coordinate[kinds.length];
+
+        for (int i = 0; i < kinds.length; i++) {
+            for (Coordinate coordinate : this.coordinates) {
+                if (coordinate.getKind() != kinds[i]) {
+                    continue;
+                }
+
+                if (coordinates[i] != null) {
+                    throw new IllegalArgumentException("The solver tracks several " + kinds[i].description + " coordinates, so the coordinates must be given instead");
+                }
+
+                coordinates[i] = coordinate;
+            }
+
+            if (coordinates[i] == null) {
+                throw new IllegalArgumentException("The solver does not track the " + kinds[i].description + " coordinate");
+            }
+        }
+
+        return addProductPruningTable(coordinates);
+    }
+
+    /**
+     * Adds a pruning table over the product of the given coordinates, which must all be tracked by this solver.
+     * This must be called before the solver is initialized. The table has as many indexes as the product of the
+     * coordinate sizes, so check getPruningTableReport to see whether the tighter bound is worth the memory.
+     */
+    public synchronized Search addProductPruningTable(Coordinate... coordinates) {
+        if (initialized) {
+            throw new IllegalStateException("Product pruning tables must be added before initializing the solver");
+        }
+
+        if (coordinates.length < 2) {
+            throw new IllegalArgumentException("A product pruning table needs at least two different coordinates");
+        }
+
+        int[] indexes = new int[coordinates.length];
+
+        for (int i = 0; i < coordinates.length; i++) {
+            indexes[i] = getCoordinateIndex(coordinates[i]);
+
+            if (indexes[i] == -1) {
+                throw new IllegalArgumentException("The solver does not track the " + coordinates[i].getDescription() + " coordinate");
+            }
+
+            for (int j = 0; j < i; j++) {
+                if (indexes[j] == indexes[i]) {
+                    throw new IllegalArgumentException("A product pruning table needs at least two different coordinates");
+                }
+            }
+        }
+
+        productTableCoordinates.add(indexes);
+
+        return this;
+    }
+
+    /**
+     * Returns a line for every product pruning table, describing its size and how much it tightens the bound
+     * compared to the separate tables for the same coordinates. Empty until the solver is initialized.
+     */
+    public List<String> getPruningTableReport() {
+        return Collections.unmodifiableList(pruningTableReport);
+    }
+
+    /**
+     * Caches the optimal solutions of up to the given number of states, so that scrambles reaching a state which
+     * was solved before are answered without searching. Only solves which found an optimal solution are cached.
+     */
+    public Search enableSolveCache(int maximumSize) {
+        cache = new SolveCache(maximumSize);
+        return this;
+    }
+
+    /**
+     * Makes the search expand all children of a node at once and look up every pruning table for all of them
+     * together, instead of one child at a time. This gives the same solutions, and hides some of the latency of
+     * pruning tables which are too large for the CPU caches. The tables of the bundled steps fit in the caches,
+     * and their searches are slower with it, so it is disabled by default.
+     */
+    public Search setBatchedExpansion(boolean batchedExpansion) {
+        this.batchedExpansion = batchedExpansion;
+        return this;
+    }
+
+    /**
+     * Returns the solve cache with its statistics, or null if caching is not enabled.
+     */
+    public SolveCache getSolveCache() {
+        return cache;
+    }
+
+    /**
+     * Formats a solution found in the given orientation, as moves in the orientation of the scramble.
+     */
+    private static String formatSolution(List<Integer> solution, CubeOrientation cubeOrientation) {
+        StringBuilder builder = new StringBuilder(solution.size() * 3);
+
+        for (int move : solution) {
+            Scrambles.appendMove(builder, cubeOrientation.unrotateMove(move));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Returns the shortest cached solution if the cache shows that no orientation has a better one, or null otherwise.
+     * Ties are broken by the order of the orientations, like in an uncached search.
+     */
+    private SearchResult getCachedResult(SolveCache cache, List<int[]> coordinates, List<CubeOrientation> orientations) {
+        SolveCache.Entry[] entries = new SolveCache.Entry[orientations.size()];
+        int best = -1;
+
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = cache.get(coordinates.get(i));
+
+            if (entries[i] != null && entries[i].solution != null && (best == -1 || entries[i].lowerBound < entries[best].lowerBound)) {
+                best = i;
+            }
+        }
+
+        if (best == -1) {
+            return null;
+        }
+
+        int length = entries[best].lowerBound;
+
+        for (int i = 0; i < entries.length; i++) {
+            // An orientation without a cached solution might still have a shorter solution, or an equally short one which is preferred.
+            if (entries[i] == null || (entries[i].solution == null && (entries[i].lowerBound < length || (entries[i].lowerBound == length && i < best)))) {
+                return null;
+            }
+        }
+
+        CubeOrientation cubeOrientation = orientations.get(best);
+        String formatted = formatSolution(entries[best].solution, cubeOrientation);
+
+        return new SearchResult(SearchResult.Status.OPTIMAL, formatted, length, 0);
+    }
+
+    /**
+     * Returns the position of the given coordinate, or -1 if the solver does not track it.
+     */
+    private int getCoordinateIndex(Coordinate coordinate) {
+        for (int i = 0; i < coordinates.length; i++) {
+            if (coordinates[i] == coordinate) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the coordinates tracked by the solver.
+     */
+    public List<Coordinate> getCoordinates() {
+        return Collections.unmodifiableList(Arrays.asList(coordinates));
+    }
+
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void initialize() {
+        initialize(null);
+    }
+
+    /**
+     * Returns true once all tables of the solver have been created, so that solving does not have to wait for them.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Initializes the solver, loading tables from the given store when possible. Tables which are
+     * not in the store yet are computed and saved to it. If the store is null, all tables are computed.
+     * Tables which have already been created by another solver are shared through the TableRegistry.
+     *
+     * Permutation move tables only depend on the number of tracked pieces, while the other tables
+     * are identified by the pieces which have to be solved.
+     */
+    public synchronized void initialize(TableStore store) {
+        if (this.initialized) {
+            return;
+        }
+
+        moveTables = new MoveTable[coordinates.length];
+        pruningTables = new PruningTable[coordinates.length];
+
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i].initialize(store);
+
+            moveTables[i] = coordinates[i].getMoveTable();
+            pruningTables[i] = coordinates[i].getPruningTable();
+        }
+
+        productTables = new ProductPruningTable[productTableCoordinates.size()];
+
+        for (int i = 0; i < productTables.length; i++) {
+            productTables[i] = createProductPruningTable(store, productTableCoordinates.get(i));
+        }
+
+        this.initialized = true;
+    }
+
+    private ProductPruningTable createProductPruningTable(TableStore store, int[] indexes) {
+        Coordinate[] parts = new Coordinate[indexes.length];
+        String key = "product pruning";
+
+        for (int i = 0; i < indexes.length; i++) {
+            parts[i] = coordinates[indexes[i]];
+            key += " " + parts[i].getDescription();
+        }
+
+        ProductPruningTable table = new ProductPruningTable(key, store, indexes, parts, coordinates.length);
+
+        pruningTableReport.add(describeProductPruningTable(parts, table));
+
+        return table;
+    }
+
+    /**
+     * Describes the memory used by a product pruning table, and compares its average bound to the average of the
+     * maximum of the separate tables for the same coordinates. Large tables are estimated from a random sample.
+     */
+    private String describeProductPruningTable(Coordinate[] parts, ProductPruningTable table) {
+        long samples = Math.min(table.getSize(), REPORT_SAMPLES);
+        Random random = new Random(0);
+
+        long productSum = 0;
+        long separateSum = 0;
+
+        for (long i = 0; i < samples; i++) {
+            long index = samples == table.getSize() ? i : (long) (random.nextDouble() * table.getSize());
+            int[] values = table.getValues(index);
+
+            int separate = 0;
+
+            for (int j = 0; j < parts.length; j++) {
+                separate = Math.max(separate, parts[j].getPruningTable().getPruningValue(values[j]));
+            }
+
+            productSum += table.getPruningValue(index);
+            separateSum += separate;
+        }
+
+        String names = Arrays.stream(parts).map(Coordinate::getName).collect(Collectors.joining(" x "));
+
+        return String.format("%s %s: %d entries, %d KB, average bound %.2f instead of %.2f", name, names, table.getSize(), table.getByteSize() / 1024,
+                (double) productSum / samples, (double) separateSum / samples);
+    }
+
+    /**
+     * Returns true if any of the pruning tables shows that the position with the coordinates stored from the
+     * given offset of the array cannot be solved in the given number of moves.
+     */
+    private boolean isPruned(int[] values, int offset, int depth, SearchBudget.Counter counter) {
+        for (int i = 0; i < pruningTables.length; i++) {
+            if (pruningTables[i].getPruningValue(values[offset + i]) > depth) {
+                counter.cutoff(cutoffTables[i]);
+                return true;
+            }
+        }
+
+        for (int i = 0; i < productTables.length; i++) {
+            if (productTables[i].getPruningValue(values, offset, 1) > depth) {
+                counter.cutoff(SearchMetrics.PRODUCT_TABLE);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns true if the coordinates stored in the array, starting from the given offset with the given distance
+     * between them, are all solved.
+     */
+    private boolean isSolved(int[] values, int offset, int stride) {
+        for (int i = 0; i < coordinates.length; i++) {
+            if (!coordinates[i].isSolved(values[offset + i * stride])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * The checks of searches with two and four coordinates are written out, so that the coordinates stay in
+     * registers instead of being looped over.
+     */
+
+    private boolean isPruned(int first, int second, int depth, SearchBudget.Counter counter) {
+        if (pruningTables[0].getPruningValue(first) > depth) {
+            counter.cutoff(cutoffTables[0]);
+            return true;
+        }
+
+        if (pruningTables[1].getPruningValue(second) > depth) {
+            counter.cutoff(cutoffTables[1]);
+            return true;
+        }
+
+        for (int i = 0; i < productTables.length; i++) {
+            if (productTables[i].getPruningValue(first, second) > depth) {
+                counter.cutoff(SearchMetrics.PRODUCT_TABLE);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isPruned(int first, int second, int third, int fourth, int depth, SearchBudget.Counter counter) {
+        if (pruningTables[0].getPruningValue(first) > depth) {
+            counter.cutoff(cutoffTables[0]);
+            return true;
+        }
+
+        if (pruningTables[1].getPruningValue(second) > depth) {
+            counter.cutoff(cutoffTables[1]);
+            return true;
+        }
+
+        if (pruningTables[2].getPruningValue(third) > depth) {
+            counter.cutoff(cutoffTables[2]);
+            return true;
+        }
+
+        if (pruningTables[3].getPruningValue(fourth) > depth) {
+            counter.cutoff(cutoffTables[3]);
+            return true;
+        }
+
+        for (int i = 0; i < productTables.length; i++) {
+            if (productTables[i].getPruningValue(first, second, third, fourth) > depth) {
+                counter.cutoff(SearchMetrics.PRODUCT_TABLE);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isSolved(int first, int second) {
+        return coordinates[0].isSolved(first) && coordinates[1].isSolved(second);
+    }
+
+    private boolean isSolved(int first, int second, int third, int fourth) {
+        return coordinates[0].isSolved(first) && coordinates[1].isSolved(second) && coordinates[2].isSolved(third) && coordinates[3].isSolved(fourth);
+    }
+
+    /**
+     * The preallocated state of the searches on one thread: the coordinates at every level, the move performed
+     * at every level and the moves still to be tried there, so that searching does not allocate.
+     */
+    private static class SearchStack {
+        // The coordinates of every level, one after the other.
+        int[] values = new int[0];
+
+        final int[] moves = new int[MAX_DEPTH];
+        final int[] remainingMoves = new int[MAX_DEPTH];
+
+        // In batched searches, the coordinates and moves of all children of the node expanded at every level.
+        int[] children = new int[0];
+        final int[] childMoves = new int[MAX_DEPTH * MoveTable.NUM_MOVES];
+
+        /**
+         * Returns the coordinate array, grown to fit the given number of coordinates at every level.
+         */
+        int[] getValues(int coordinates) {
+            if (values.length < (MAX_DEPTH + 1) * coordinates) {
+                values = new int[(MAX_DEPTH + 1) * coordinates];
+            }
+
+            return values;
+        }
+
+        /**
+         * Returns the array of children, grown to fit the given number of coordinates for every child at every level.
+         */
+        int[] getChildren(int coordinates) {
+            if (children.length < MAX_DEPTH * coordinates * MoveTable.NUM_MOVES) {
+                children = new int[MAX_DEPTH * coordinates * MoveTable.NUM_MOVES];
+            }
+
+            return children;
+        }
+    }
+
+    // A stack is only used during a single call to search, which never waits for other tasks, so nested tasks
+    // running on the same thread cannot use it at the same time.
+    private static final ThreadLocal<SearchStack> SEARCH_STACKS = ThreadLocal.withInitial(SearchStack::new);
+
+    /**
+     * Searches for a solution of exactly the given length from the given coordinates, starting in the given state
+     * of the move sequence automaton. This is a depth first search with an explicit stack. If a solution is found,
+     * its moves are left at the start of the moves of the stack.
+     *
+     * Searches with two or four coordinates, which are the most common, have their own copy of the search, so
+     * that they only pay for the coordinates they have. All copies visit the nodes in the same order.
+     */
+    private boolean search(int[] coordinate, int depth, int state, SearchStack stack, SearchBudget.Counter counter) {
+        if (batchedExpansion) {
+            return searchBatched(coordinate, depth, state, stack, counter);
+        }
+
+        switch (coordinates.length) {
+            case 2:
+                return searchTwo(coordinate, depth, state, stack, counter);
+            case 4:
+                return searchFour(coordinate, depth, state, stack, counter);
+            default:
+                return searchAny(coordinate, depth, state, stack, counter);
+        }
+    }
+
+    private boolean searchTwo(int[] coordinate, int depth, int state, SearchStack stack, SearchBudget.Counter counter) {
+        int[] values = stack.getValues(2);
+        int[] moves = stack.moves;
+        int[] remainingMoves = stack.remainingMoves;
+
+        MoveTable firstMoves = moveTables[0];
+        MoveTable secondMoves = moveTables[1];
+
+        if (counter.visit()) {
+            return false;
+        }
+
+        if (depth == 0) {
+            return isSolved(coordinate[0], coordinate[1]);
+        }
+
+        if (isPruned(coordinate[0], coordinate[1], depth, counter)) {
+            return false;
+        }
+
+        // The coordinates and remaining moves of the current level are kept in locals, and only written to the
+        // stack when descending, since most of the children are pruned without being descended into.
+        int level = 0;
+        int first = coordinate[0];
+        int second = coordinate[1];
+        int remaining = MoveSequences.getAllowedMoves(state);
+
+        while (true) {
+            if (remaining == 0) {
+                if (level == 0) {
+                    return false;
+                }
+
+                level--;
+
+                first = values[2 * level];
+                second = values[2 * level + 1];
+                remaining = remainingMoves[level];
+
+                continue;
+            }
+
+            int move = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            int innerFirst = firstMoves.doMove(first, move);
+            int innerSecond = secondMoves.doMove(second, move);
+
+            if (counter.visit()) {
+                return false;
+            }
+
+            if (level + 1 == depth) {
+                if (isSolved(innerFirst, innerSecond)) {
+                    moves[level] = move;
+                    return true;
+                }
+
+                continue;
+            }
+
+            if (isPruned(innerFirst, innerSecond, depth - level - 1, counter)) {
+                continue;
+            }
+
+            values[2 * level] = first;
+            values[2 * level + 1] = second;
+            remainingMoves[level] = remaining;
+            moves[level] = move;
+
+            level++;
+
+            first = innerFirst;
+            second = innerSecond;
+            remaining = MoveSequences.getAllowedMoves(MoveSequences.getNextState(move));
+        }
+    }
+
+    private boolean searchFour(int[] coordinate, int depth, int state, SearchStack stack, SearchBudget.Counter counter) {
+        int[] values = stack.getValues(4);
+        int[] moves = stack.moves;
+        int[] remainingMoves = stack.remainingMoves;
+
+        MoveTable firstMoves = moveTables[0];
+        MoveTable secondMoves = moveTables[1];
+        MoveTable thirdMoves = moveTables[2];
+        MoveTable fourthMoves = moveTables[3];
+
+        if (counter.visit()) {
+            return false;
+        }
+
+        if (depth == 0) {
+            return isSolved(coordinate[0], coordinate[1], coordinate[2], coordinate[3]);
+        }
+
+        if (isPruned(coordinate[0], coordinate[1], coordinate[2], coordinate[3], depth, counter)) {
+            return false;
+        }
+
+        int level = 0;
+        int first = coordinate[0];
+        int second = coordinate[1];
+        int third = coordinate[2];
+        int fourth = coordinate[3];
+        int remaining = MoveSequences.getAllowedMoves(state);
+
+        while (true) {
+            if (remaining == 0) {
+                if (level == 0) {
+                    return false;
+                }
+
+                level--;
+
+                first = values[4 * level];
+                second = values[4 * level + 1];
+                third = values[4 * level + 2];
+                fourth = values[4 * level + 3];
+                remaining = remainingMoves[level];
+
+                continue;
+            }
+
+            int move = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            int innerFirst = firstMoves.doMove(first, move);
+            int innerSecond = secondMoves.doMove(second, move);
+            int innerThird = thirdMoves.doMove(third, move);
+            int innerFourth = fourthMoves.doMove(fourth, move);
+
+            if (counter.visit()) {
+                return false;
+            }
+
+            if (level + 1 == depth) {
+                if (isSolved(innerFirst, innerSecond, innerThird, innerFourth)) {
+                    moves[level] = move;
+                    return true;
+                }
+
+                continue;
+            }
+
+            if (isPruned(innerFirst, innerSecond, innerThird, innerFourth, depth - level - 1, counter)) {
+                continue;
+            }
+
+            values[4 * level] = first;
+            values[4 * level + 1] = second;
+            values[4 * level + 2] = third;
+            values[4 * level + 3] = fourth;
+            remainingMoves[level] = remaining;
+            moves[level] = move;
+
+            level++;
+
+            first = innerFirst;
+            second = innerSecond;
+            third = innerThird;
+            fourth = innerFourth;
+            remaining = MoveSequences.getAllowedMoves(MoveSequences.getNextState(move));
+        }
+    }
+
+    // Returned by expand instead of the surviving children when the search is over.
+    private static final int FOUND = -1;
+    private static final int STOPPED = -2;
+
+    /**
+     * Searches like search, but expands all children of a node at once. Their coordinates are stored with all
+     * values of one coordinate next to each other, and every pruning table is then looked up for all children
+     * still left, so that the lookups do not depend on each other and their cache misses overlap.
+     *
+     * The children are visited, checked and descended into in the same order as in search, but all children of
+     * a node are counted when it is expanded, so a search which stops early may count a few more nodes.
+     */
+    private boolean searchBatched(int[] coordinate, int depth, int state, SearchStack stack, SearchBudget.Counter counter) {
+        int count = moveTables.length;
+
+        int[] children = stack.getChildren(count);
+        int[] childMoves = stack.childMoves;
+        int[] moves = stack.moves;
+        int[] survivors = stack.remainingMoves;
+
+        if (counter.visit()) {
+            return false;
+        }
+
+        if (depth == 0) {
+            return isSolved(coordinate, 0, 1);
+        }
+
+        if (isPruned(coordinate, 0, depth, counter)) {
+            return false;
+        }
+
+        int result = expand(coordinate, 0, 1, MoveSequences.getAllowedMoves(state), 0, depth, stack, counter);
+
+        if (result < 0) {
+            return result == FOUND;
+        }
+
+        int level = 0;
+        survivors[0] = result;
+
+        while (true) {
+            int alive = survivors[level];
+
+            if (alive == 0) {
+                if (level == 0) {
+                    return false;
+                }
+
+                level--;
+                continue;
+            }
+
+            int child = Integer.numberOfTrailingZeros(alive);
+            survivors[level] = alive & (alive - 1);
+
+            int move = childMoves[level * MoveTable.NUM_MOVES + child];
+            moves[level] = move;
+
+            result = expand(children, level * count * MoveTable.NUM_MOVES + child, MoveTable.NUM_MOVES, MoveSequences.getAllowedMoves(MoveSequences.getNextState(move)),
+                    level + 1, depth - level - 1, stack, counter);
+
+            if (result < 0) {
+                return result == FOUND;
+            }
+
+            level++;
+            survivors[level] = result;
+        }
+    }
+
+    /**
+     * Expands the node with the coordinates stored in the array from the given offset with the given distance
+     * between them, which has the given number of moves left, into the children at the given level of the stack.
+     * Returns a mask of the children which are not pruned, FOUND if one of the children is solved, in which case
+     * its move is left in the stack, or STOPPED if the search has reached its limits.
+     */
+    private int expand(int[] parent, int offset, int stride, int allowed, int level, int depth, SearchStack stack, SearchBudget.Counter counter) {
+        int count = moveTables.length;
+        int base = level * count * MoveTable.NUM_MOVES;
+
+        int[] children = stack.children;
+        int[] childMoves = stack.childMoves;
+        int firstMove = level * MoveTable.NUM_MOVES;
+
+        int size = 0;
+
+        for (; allowed != 0; allowed &= allowed - 1) {
+            childMoves[firstMove + size++] = Integer.numberOfTrailingZeros(allowed);
+        }
+
+        for (int i = 0; i < count; i++) {
+            MoveTable moveTable = moveTables[i];
+            int value = parent[offset + i * stride];
+            int start = base + i * MoveTable.NUM_MOVES;
+
+            for (int child = 0; child < size; child++) {
+                children[start + child] = moveTable.doMove(value, childMoves[firstMove + child]);
+            }
+        }
+
+        if (counter.visit(size)) {
+            return STOPPED;
+        }
+
+        if (depth == 1) {
+            for (int child = 0; child < size; child++) {
+                if (isSolved(children, base + child, MoveTable.NUM_MOVES)) {
+                    stack.moves[level] = childMoves[firstMove + child];
+                    return FOUND;
+                }
+            }
+
+            return 0;
+        }
+
+        // Every table is only looked up for the children which the tables before it did not prune, so that each
+        // cutoff is counted for the same table as in search.
+        int alive = (1 << size) - 1;
+
+        for (int i = 0; i < count && alive != 0; i++) {
+            PruningTable pruningTable = pruningTables[i];
+            int start = base + i * MoveTable.NUM_MOVES;
+
+            for (int remaining = alive; remaining != 0; remaining &= remaining - 1) {
+                int child = Integer.numberOfTrailingZeros(remaining);
+
+                if (pruningTable.getPruningValue(children[start + child]) > depth - 1) {
+                    counter.cutoff(cutoffTables[i]);
+                    alive &= ~(1 << child);
+                }
+            }
+        }
+
+        for (int i = 0; i < productTables.length && alive != 0; i++) {
+            for (int remaining = alive; remaining != 0; remaining &= remaining - 1) {
+                int child = Integer.numberOfTrailingZeros(remaining);
+
+                if (productTables[i].getPruningValue(children, base + child, MoveTable.NUM_MOVES) > depth - 1) {
+                    counter.cutoff(SearchMetrics.PRODUCT_TABLE);
+                    alive &= ~(1 << child);
+                }
+            }
+        }
+
+        return alive;
+    }
+
+    private boolean searchAny(int[] coordinate, int depth, int state, SearchStack stack, SearchBudget.Counter counter) {
+        MoveTable[] moveTables = this.moveTables;
+        int count = moveTables.length;
+
+        int[] values = stack.getValues(count);
+        int[] moves = stack.moves;
+        int[] remainingMoves = stack.remainingMoves;
+
+        System.arraycopy(coordinate, 0, values, 0, count);
+
+        if (counter.visit()) {
+            return false;
+        }
+
+        if (depth == 0) {
+            return isSolved(values, 0, 1);
+        }
+
+        if (isPruned(values, 0, depth, counter)) {
+            return false;
+        }
+
+        int level = 0;
+        int remaining = MoveSequences.getAllowedMoves(state);
+
+        while (true) {
+            if (remaining == 0) {
+                if (level == 0) {
+                    return false;
+                }
+
+                level--;
+                remaining = remainingMoves[level];
+
+                continue;
+            }
+
+            int move = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            // The children of a level are computed into the slots of the next level.
+            int offset = level * count;
+            int inner = offset + count;
+
+            for (int i = 0; i < count; i++) {
+                values[inner + i] = moveTables[i].doMove(values[offset + i], move);
+            }
+
+            if (counter.visit()) {
+                return false;
+            }
+
+            if (level + 1 == depth) {
+                if (isSolved(values, inner, 1)) {
+                    moves[level] = move;
+                    return true;
+                }
+
+                continue;
+            }
+
+            if (isPruned(values, inner, depth - level - 1, counter)) {
+                continue;
+            }
+
+            remainingMoves[level] = remaining;
+            moves[level] = move;
+
+            level++;
+            remaining = MoveSequences.getAllowedMoves(MoveSequences.getNextState(move));
+        }
+    }
+
+    /**
+     * Enumerates every solution of a scramble with at most a maximum number of moves, shortest first. The search
+     * is resumed every time the next solution is requested, so solutions are only searched for as they are consumed.
+     *
+     * Like the regular search, moves on the same face are never repeated, and moves on opposite faces, which
+     * commute, are only performed in one order. Sequences which pass through a solved state before their last
+     * move are skipped, as they are a shorter solution followed by moves which leave the step solved.
+     */
+    private class SolutionIterator implements Iterator<List<Integer>> {
+        private final int maxLength;
+        private final int extraMoves;
+
+        private final SearchBudget.Counter counter = new SearchBudget(SearchLimits.NONE).newCounter();
+
+        // The coordinates after each number of moves, the moves performed and the next move to try at every level.
+        private final int[][] coordinates = new int[MAX_DEPTH + 1][];
+        private final int[] moves = new int[MAX_DEPTH];
+        private final int[] nextMove = new int[MAX_DEPTH + 1];
+
+        private int depth = 0;
+        private int level = 0;
+
+        private int firstSolutionLength = -1;
+        private List<Integer> next;
+
+        SolutionIterator(int[] coordinate, int maxLength, int extraMoves) {
+            this.maxLength = Math.min(maxLength, MAX_DEPTH - 1);
+            this.extraMoves = extraMoves;
+
+            coordinates[0] = coordinate;
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public List<Integer> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            List<Integer> solution = next;
+            next = advance();
+
+            return solution;
+        }
+
+        /**
+         * Continues the depth first search where it stopped, and returns the next solution, or null if there are no more.
+         */
+        private List<Integer> advance() {
+            while (true) {
+                if (level < 0) {
+                    depth++;
+
+                    if (depth > maxLength || (firstSolutionLength >= 0 && depth - firstSolutionLength > extraMoves)) {
+                        return null;
+                    }
+
+                    level = 0;
+                    nextMove[0] = 0;
+                }
+
+                int[] coordinate = coordinates[level];
+                int remaining = depth - level;
+
+                // The checks of a node are only made when it is entered, not when the search returns to it.
+                if (nextMove[level] == 0) {
+                    boolean solved = isSolved(coordinate, 0, 1);
+
+                    if (remaining == 0 || solved || isPruned(coordinate, 0, remaining, counter)) {
+                        level--;
+
+                        if (remaining == 0 && solved) {
+                            if (firstSolutionLength < 0) {
+                                firstSolutionLength = depth;
+                            }
+
+                            List<Integer> solution = new ArrayList<>(depth);
+
+                            for (int i = 0; i < depth; i++) {
+                                solution.add(moves[i]);
+                            }
+
+                            return solution;
+                        }
+
+                        continue;
+                    }
+                }
+
+                int state = level > 0 ? MoveSequences.getNextState(moves[level - 1]) : MoveSequences.START;
+                int allowed = MoveSequences.getAllowedMoves(state) & (MoveSequences.ALL_MOVES << nextMove[level]);
+
+                if (allowed == 0) {
+                    level--;
+                    continue;
+                }
+
+                int move = Integer.numberOfTrailingZeros(allowed);
+
+                nextMove[level] = move + 1;
+                moves[level] = move;
+                coordinates[level + 1] = doMove(coordinate, move);
+
+                level++;
+                nextMove[level] = 0;
+            }
+        }
+    }
+
+    private Stream<String> enumerate(String scramble, int maxLength, int extraMoves) {
+        if (!initialized) {
+            initialize();
+        }
+
+        Iterator<List<Integer>> iterator = new SolutionIterator(getCoordinates(CubeState.SOLVED.apply(Scrambles.parseMoves(scramble))), maxLength, extraMoves);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(Scrambles::formatMoveSequence);
+    }
+
+    /**
+     * Returns a lazy stream of every solution with at most the given number of moves, shortest first.
+     * Solutions are searched for as the stream is consumed, so it may be limited or abandoned at any time.
+     */
+    public Stream<String> solutions(String scramble, int maxLength) {
+        return enumerate(scramble, maxLength, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a lazy stream of every optimal solution, followed by the solutions which are at most the given
+     * number of moves longer.
+     */
+    public Stream<String> nearOptimalSolutions(String scramble, int extraMoves) {
+        return enumerate(scramble, MAX_DEPTH - 1, extraMoves);
+    }
+
+    /**
+     * A subtree below the first few moves of a solution, which is searched as its own task in parallel searches.
+     */
+    private static class Subtree {
+        final List<Integer> prefix;
+        final int[] coordinate;
+        final int state;
+
+        Subtree(List<Integer> prefix, int[] coordinate, int state) {
+            this.prefix = prefix;
+            this.coordinate = coordinate;
+            this.state = state;
+        }
+    }
+
+    private int[] doMove(int[] coordinate, int move) {
+        int[] result = new int[coordinate.length];
+
+        for (int i = 0; i < coordinate.length; i++) {
+            result[i] = moveTables[i].doMove(coordinate[i], move);
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the subtrees found after performing the given number of moves, in the order the search would visit them.
+     * Returns true if the budget stopped the search before all subtrees were collected.
+     */
+    private boolean split(int[] coordinate, int depth, int state, List<Integer> prefix, int plies, List<Subtree> subtrees, SearchBudget.Counter counter) {
+        if (plies == 0) {
+            subtrees.add(new Subtree(prefix, coordinate, state));
+            return false;
+        }
+
+        if (counter.visit()) {
+            return true;
+        }
+
+        if (isPruned(coordinate, 0, depth, counter)) {
+            return false;
+        }
+
+        for (int allowed = MoveSequences.getAllowedMoves(state); allowed != 0; allowed &= allowed - 1) {
+            int move = Integer.numberOfTrailingZeros(allowed);
+
+            List<Integer> innerPrefix = new ArrayList<>(prefix);
+            innerPrefix.add(move);
+
+            if (split(doMove(coordinate, move), depth - 1, MoveSequences.getNextState(move), innerPrefix, plies - 1, subtrees, counter)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Searches for a solution of exactly the given length, and returns the first one in search order, or null.
+     * In parallel searches, the subtrees after the first few moves are searched as separate ForkJoin tasks.
+     * Once a subtree has a solution, the subtrees after it are cancelled, while the ones before it are
+     * still searched, so the result is the same as that of a sequential search.
+     */
+    private List<Integer> search(int[] coordinate, int depth, boolean parallel, SearchBudget budget, boolean instrumented) {
+        // Splitting only pays off if there is more than one thread to run the tasks, and the subtrees are large enough.
+        if (!parallel || ForkJoinPool.getCommonPoolParallelism() < 2 || depth <= SPLIT_PLIES + 1) {
+            SearchStack stack = SEARCH_STACKS.get();
+            SearchBudget.Counter counter = budget.newCounter();
+
+            boolean found = search(coordinate, depth, MoveSequences.START, stack, counter);
+
+            counter.flush();
+
+            if (instrumented) {
+                metrics.addCutoffs(counter.cutoffs);
+            }
+
+            if (!found) {
+                return null;
+            }
+
+            List<Integer> solution = new ArrayList<>(depth);
+
+            for (int i = 0; i < depth; i++) {
+                solution.add(stack.moves[i]);
+            }
+
+            return solution;
+        }
+
+        List<Subtree> subtrees = new ArrayList<>();
+        SearchBudget.Counter splitCounter = budget.newCounter();
+
+        boolean stopped = split(coordinate, depth, MoveSequences.START, Collections.emptyList(), SPLIT_PLIES, subtrees, splitCounter);
+
+        splitCounter.flush();
+
+        if (instrumented) {
+            metrics.addCutoffs(splitCounter.cutoffs);
+        }
+
+        // The collected subtrees are incomplete, so searching them could return a solution other than the first one.
+        if (stopped) {
+            return null;
+        }
+
+        AtomicInteger firstSolution = new AtomicInteger(Integer.MAX_VALUE);
+        List<List<Integer>> solutions = new ArrayList<>(Collections.nCopies(subtrees.size(), null));
+
+        IntStream.range(0, subtrees.size()).parallel().forEach(i -> {
+            if (firstSolution.get() < i) {
+                return;
+            }
+
+            Subtree subtree = subtrees.get(i);
+            SearchStack stack = SEARCH_STACKS.get();
+            SearchBudget.Counter counter = budget.newCounter(firstSolution, i);
+
+            if (search(subtree.coordinate, depth - SPLIT_PLIES, subtree.state, stack, counter)) {
+                List<Integer> solution = new ArrayList<>(subtree.prefix);
+
+                for (int j = 0; j < depth - SPLIT_PLIES; j++) {
+                    solution.add(stack.moves[j]);
+                }
+
+                solutions.set(i, solution);
+
+                firstSolution.accumulateAndGet(i, Math::min);
+            }
+
+            counter.flush();
+
+            if (instrumented) {
+                metrics.addCutoffs(counter.cutoffs);
+            }
+        });
+
+        if (firstSolution.get() == Integer.MAX_VALUE) {
+            return null;
+        }
+
+        return solutions.get(firstSolution.get());
+    }
+
+    /**
+     * Solves the given scramble. Once the solver is initialized, all tables are read only,
+     * so this may be called from several threads at once.
+     */
+    public String solve(String scramble) {
+        return solve(scramble, Collections.singletonList(CubeOrientation.IDENTITY));
+    }
+
+    /**
+     * Returns the coordinates of the given state, which are the same as those reached by applying the moves
+     * leading to it through the move tables.
+     */
+    private int[] getCoordinates(CubeState state) {
+        int[] values = new int[coordinates.length];
+
+        for (int i = 0; i < coordinates.length; i++) {
+            values[i] = coordinates[i].getValue(state);
+        }
+
+        return values;
+    }
+
+    /**
+     * Solves the step in each of the given cube orientations, and returns the shortest solution found,
+     * expressed in the orientation of the scramble. Returns an empty sequence if no solution was found.
+     */
+    public String solve(String scramble, List<CubeOrientation> orientations) {
+        String solution = solve(scramble, orientations, SearchLimits.NONE).getSolution();
+
+        return solution != null ? solution : Scrambles.formatMoveSequence(Collections.emptyList());
+    }
+
+    /**
+     * Solves the given scramble, stopping early if any of the given limits is reached.
+     */
+    public SearchResult solve(String scramble, SearchLimits limits) {
+        return solve(scramble, Collections.singletonList(CubeOrientation.IDENTITY), limits);
+    }
+
+    /**
+     * Solves the step in each of the given cube orientations, and returns the shortest solution found,
+     * expressed in the orientation of the scramble. Each orientation is solved by rotating the scramble
+     * so that the tables of this solver can be reused. All orientations are searched at the same depth
+     * before moving on to the next one, in parallel. If several orientations have equally short solutions,
+     * the one listed first is chosen.
+     *
+     * If a limit is reached before a solution is found, the search stops and the result tells why,
+     * along with the number of moves any solution is known to need at least.
+     */
+    public SearchResult solve(String scramble, List<CubeOrientation> orientations, SearchLimits limits) {
+        return solve(scramble, orientations, limits, false);
+    }
+
+    /**
+     * Solves the scramble like solve, but also splits the search of every orientation into parallel tasks.
+     * This gives the same solution as solve, and is meant for solving single scrambles with low latency.
+     */
+    public SearchResult solveParallel(String scramble, List<CubeOrientation> orientations, SearchLimits limits) {
+        return solve(scramble, orientations, limits, true);
+    }
+
+    public String solveParallel(String scramble) {
+        String solution = solveParallel(scramble, Collections.singletonList(CubeOrientation.IDENTITY), SearchLimits.NONE).getSolution();
+
+        return solution != null ? solution : Scrambles.formatMoveSequence(Collections.emptyList());
+    }
+
+    private SearchResult solve(String scramble, List<CubeOrientation> orientations, SearchLimits limits, boolean parallel) {
+        if (!initialized) {
+            initialize();
+        }
+
+        int[] moves = Scrambles.parseMoves(scramble);
+
+        List<int[]> coordinates = new ArrayList<>();
+
+        for (CubeOrientation cubeOrientation : orientations) {
+            coordinates.add(getCoordinates(CubeState.SOLVED.apply(moves, cubeOrientation)));
+        }
+
+        return solve(coordinates, orientations, limits, parallel);
+    }
+
+    /**
+     * Solves the step from the states reached by a scramble in each of the given orientations, which have
+     * already been computed, so that a scramble only has to be applied once when solving several steps.
+     */
+    SearchResult solve(CubeState[] states, List<CubeOrientation> orientations, SearchLimits limits, boolean parallel) {
+        if (!initialized) {
+            initialize();
+        }
+
+        List<int[]> coordinates = new ArrayList<>();
+
+        for (CubeState state : states) {
+            coordinates.add(getCoordinates(state));
+        }
+
+        return solve(coordinates, orientations, limits, parallel);
+    }
+
+    private SearchResult solve(List<int[]> coordinates, List<CubeOrientation> orientations, SearchLimits limits, boolean parallel) {
+        List<List<Integer>> solutions = new ArrayList<>(Collections.nCopies(orientations.size(), null));
+
+        SearchBudget budget = new SearchBudget(limits);
+
+        // Metrics are only collected if instrumentation was enabled when the solve started.
+        boolean instrumented = Instrumentation.isInstrumented();
+        long start = System.nanoTime();
+
+        SolveEvent event = null;
+
+        if (instrumented) {
+            event = new SolveEvent();
+            event.begin();
+        }
+
+        SolveCache cache = this.cache;
+        SearchResult result = cache != null ? getCachedResult(cache, coordinates, orientations) : null;
+
+        for (int depth = 0; depth < MAX_DEPTH && result == null; depth += 1) {
+            int currentDepth = depth;
+            long previousNodes = budget.getNodes();
+
+            IntStream indexes = IntStream.range(0, orientations.size());
+
+            if (orientations.size() > 1) {
+                indexes = indexes.parallel();
+            }
+
+            indexes.forEach(i -> solutions.set(i, search(coordinates.get(i), currentDepth, parallel, budget, instrumented)));
+
+            if (instrumented) {
+                metrics.addNodes(depth, budget.getNodes() - previousNodes);
+            }
+
+            // Any solution found at this depth is optimal, as all orientations were fully searched at lower depths.
+            for (int i = 0; i < orientations.size(); i++) {
+                List<Integer> solution = solutions.get(i);
+
+                if (solution != null && cache != null) {
+                    cache.putSolution(coordinates.get(i), Collections.unmodifiableList(solution));
+                }
+
+                if (solution != null && result == null) {
+                    CubeOrientation cubeOrientation = orientations.get(i);
+                    String formatted = formatSolution(solution, cubeOrientation);
+
+                    result = new SearchResult(SearchResult.Status.OPTIMAL, formatted, depth, budget.getNodes());
+                }
+            }
+
+            // Once a solution is found, the orientations without one at this depth are known to need more moves.
+            if (result != null && cache != null && budget.getStopReason() == null) {
+                for (int i = 0; i < orientations.size(); i++) {
+                    if (solutions.get(i) == null) {
+                        cache.putLowerBound(coordinates.get(i), depth + 1);
+                    }
+                }
+            }
+
+            if (result == null && budget.getStopReason() != null) {
+                result = new SearchResult(budget.getStopReason(), null, depth, budget.getNodes());
+            }
+        }
+
+        if (result == null) {
+            result = new SearchResult(SearchResult.Status.BOUND_EXCEEDED, null, MAX_DEPTH, budget.getNodes());
+        }
+
+        if (instrumented) {
+            metrics.addSolve(System.nanoTime() - start);
+
+            event.step = name;
+            event.status = result.getStatus().name();
+            event.depth = result.getDepth();
+            event.nodes = result.getNodes();
+            event.commit();
+        }
+
+        return result;
+    }
+}
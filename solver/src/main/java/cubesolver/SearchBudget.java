@@ -0,0 +1,129 @@
+package cubesolver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the limits of a single call to solve, which may be searched by several threads at once.
+ * Every thread counts its nodes with its own counter, and only adds them to the shared total and
+ * checks the limits every few nodes, so that counting stays cheap in the search loop.
+ */
+class SearchBudget {
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final SearchLimits limits;
+
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicReference<SearchResult.Status> stopReason = new AtomicReference<>();
+
+    SearchBudget(SearchLimits limits) {
+        this.limits = limits;
+    }
+
+    private boolean check(long newNodes) {
+        long total = nodes.addAndGet(newNodes);
+
+        if (limits.isCancelled()) {
+            stopReason.compareAndSet(null, SearchResult.Status.CANCELLED);
+        } else if (limits.isTimedOut()) {
+            stopReason.compareAndSet(null, SearchResult.Status.TIMED_OUT);
+        } else if (total >= limits.getMaxNodes()) {
+            stopReason.compareAndSet(null, SearchResult.Status.BOUND_EXCEEDED);
+        }
+
+        return stopReason.get() != null;
+    }
+
+    Counter newCounter() {
+        return new Counter(null, 0);
+    }
+
+    /**
+     * Creates a counter for one of several tasks searching parts of the same tree. The counter stops the
+     * task once another task with a lower index has found a solution, as that solution is preferred.
+     */
+    Counter newCounter(AtomicInteger firstSolution, int task) {
+        return new Counter(firstSolution, task);
+    }
+
+    long getNodes() {
+        return nodes.get();
+    }
+
+    /**
+     * Returns why the search was stopped, or null if it has not been stopped.
+     */
+    SearchResult.Status getStopReason() {
+        return stopReason.get();
+    }
+
+    /**
+     * Counts the nodes visited by a single thread.
+     */
+    class Counter {
+        private final AtomicInteger firstSolution;
+        private final int task;
+
+        private int unchecked = 0;
+        private boolean stopped = false;
+
+        // How often each pruning table cut off the search, indexed as in SearchMetrics.
+        final long[] cutoffs = new long[SearchMetrics.TABLES];
+
+        private Counter(AtomicInteger firstSolution, int task) {
+            this.firstSolution = firstSolution;
+            this.task = task;
+        }
+
+        /**
+         * Counts a node, and returns true if the search has to stop.
+         */
+        boolean visit() {
+            if (stopped) {
+                return true;
+            }
+
+            if (++unchecked < CHECK_INTERVAL) {
+                return false;
+            }
+
+            stopped = check(unchecked) || (firstSolution != null && firstSolution.get() < task);
+            unchecked = 0;
+
+            return stopped;
+        }
+
+        /**
+         * Counts several nodes at once, like calling visit for every one of them.
+         */
+        boolean visit(int nodes) {
+            if (stopped) {
+                return true;
+            }
+
+            unchecked += nodes;
+
+            if (unchecked < CHECK_INTERVAL) {
+                return false;
+            }
+
+            stopped = check(unchecked) || (firstSolution != null && firstSolution.get() < task);
+            unchecked = 0;
+
+            return stopped;
+        }
+
+        void cutoff(int table) {
+            cutoffs[table]++;
+        }
+
+        /**
+         * Adds the nodes which have not been counted yet to the total.
+         */
+        void flush() {
+            nodes.addAndGet(unchecked);
+            unchecked = 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package cubesolver;
+
+import java.time.Duration;
+
+/**
+ * Limits on how long a search may run. A search stops when the deadline has passed, when it has
+ * visited the maximum number of nodes, or when its cancellation token is cancelled.
+ */
+public class SearchLimits {
+    public static final SearchLimits NONE = new SearchLimits(false, 0, Long.MAX_VALUE, null);
+
+    private final boolean hasDeadline;
+    private final long deadline;
+    private final long maxNodes;
+    private final CancellationToken token;
+
+    private SearchLimits(boolean hasDeadline, long deadline, long maxNodes, CancellationToken token) {
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+        this.maxNodes = maxNodes;
+        this.token = token;
+    }
+
+    /**
+     * Creates limits with a deadline the given time from now. The timeout and the token may be null.
+     */
+    public static SearchLimits of(Duration timeout, long maxNodes, CancellationToken token) {
+        if (timeout == null) {
+            return new SearchLimits(false, 0, maxNodes, token);
+        }
+
+        return new SearchLimits(true, System.nanoTime() + timeout.toNanos(), maxNodes, token);
+    }
+
+    public static SearchLimits withTimeout(Duration timeout) {
+        return of(timeout, Long.MAX_VALUE, null);
+    }
+
+    boolean isTimedOut() {
+        return hasDeadline && System.nanoTime() - deadline > 0;
+    }
+
+    boolean isCancelled() {
+        return token != null && token.isCancelled();
+    }
+
+    long getMaxNodes() {
+        return maxNodes;
+    }
+}
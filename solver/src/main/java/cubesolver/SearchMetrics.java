@@ -0,0 +1,142 @@
+package cubesolver;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics collected for the solves of a single solver while instrumentation is enabled.
+ *
+ * Solve latencies are counted in a histogram where bucket i holds the solves which took
+ * from 2^i up to 2^(i+1) microseconds.
+ */
+public class SearchMetrics implements SearchMetricsMBean {
+    public static final int ORIENTATION_TABLE = 0;
+    public static final int PERMUTATION_TABLE = 1;
+    public static final int CORNER_ORIENTATION_TABLE = 2;
+    public static final int CORNER_PERMUTATION_TABLE = 3;
+    // Cutoffs of all product pruning tables are counted together.
+    public static final int PRODUCT_TABLE = 4;
+    // Cutoffs of coordinates which were not created by the factory methods of Coordinate are counted together.
+    public static final int OTHER_TABLE = 5;
+
+    static final int TABLES = 6;
+
+    private static final int MAX_DEPTH = 20;
+    private static final int LATENCY_BUCKETS = 40;
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+
+    private final LongAdder[] nodesPerDepth = createAdders(MAX_DEPTH + 1);
+    private final LongAdder[] cutoffs = createAdders(TABLES);
+    private final LongAdder[] latencyHistogram = createAdders(LATENCY_BUCKETS);
+
+    private static LongAdder[] createAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+
+        return adders;
+    }
+
+    private static long[] sum(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+
+        return sums;
+    }
+
+    void addNodes(int depth, long nodes) {
+        nodesPerDepth[Math.min(depth, MAX_DEPTH)].add(nodes);
+    }
+
+    void addCutoffs(long[] tableCutoffs) {
+        for (int i = 0; i < cutoffs.length; i++) {
+            cutoffs[i].add(tableCutoffs[i]);
+        }
+    }
+
+    void addSolve(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+
+        solves.increment();
+        totalLatency.add(nanos);
+        latencyHistogram[Math.min(LATENCY_BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros))].increment();
+    }
+
+    @Override
+    public long getSolves() {
+        return solves.sum();
+    }
+
+    /**
+     * Returns the number of nodes visited by the iterations of IDA* searching at each depth.
+     */
+    @Override
+    public long[] getNodesPerDepth() {
+        return sum(nodesPerDepth);
+    }
+
+    @Override
+    public long getOrientationCutoffs() {
+        return cutoffs[ORIENTATION_TABLE].sum();
+    }
+
+    @Override
+    public long getPermutationCutoffs() {
+        return cutoffs[PERMUTATION_TABLE].sum();
+    }
+
+    @Override
+    public long getCornerOrientationCutoffs() {
+        return cutoffs[CORNER_ORIENTATION_TABLE].sum();
+    }
+
+    @Override
+    public long getCornerPermutationCutoffs() {
+        return cutoffs[CORNER_PERMUTATION_TABLE].sum();
+    }
+
+    @Override
+    public long getProductCutoffs() {
+        return cutoffs[PRODUCT_TABLE].sum();
+    }
+
+    @Override
+    public long getOtherCutoffs() {
+        return cutoffs[OTHER_TABLE].sum();
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        return sum(latencyHistogram);
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        long count = solves.sum();
+        return count == 0 ? 0 : totalLatency.sum() / 1e6 / count;
+    }
+
+    @Override
+    public void reset() {
+        solves.reset();
+        totalLatency.reset();
+
+        for (LongAdder adder : nodesPerDepth) {
+            adder.reset();
+        }
+
+        for (LongAdder adder : cutoffs) {
+            adder.reset();
+        }
+
+        for (LongAdder adder : latencyHistogram) {
+            adder.reset();
+        }
+    }
+}
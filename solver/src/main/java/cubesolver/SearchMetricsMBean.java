@@ -0,0 +1,25 @@
+package cubesolver;
+
+public interface SearchMetricsMBean {
+    long getSolves();
+
+    long[] getNodesPerDepth();
+
+    long getOrientationCutoffs();
+
+    long getPermutationCutoffs();
+
+    long getCornerOrientationCutoffs();
+
+    long getCornerPermutationCutoffs();
+
+    long getProductCutoffs();
+
+    long getOtherCutoffs();
+
+    long[] getLatencyHistogram();
+
+    double getMeanLatencyMillis();
+
+    void reset();
+}
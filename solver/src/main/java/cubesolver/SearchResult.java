@@ -0,0 +1,66 @@
+package cubesolver;
+
+/**
+ * The outcome of a search which may have been stopped before finding a solution.
+ */
+public class SearchResult {
+    public enum Status {
+        // A solution was found, and no shorter solution exists.
+        OPTIMAL,
+        // A solution was found, but a shorter solution may exist.
+        SUBOPTIMAL,
+        // The node limit or the maximum depth was reached before a solution was found.
+        BOUND_EXCEEDED,
+        // The deadline passed before a solution was found.
+        TIMED_OUT,
+        // The search was cancelled before a solution was found.
+        CANCELLED
+    }
+
+    private final Status status;
+    private final String solution;
+    private final int depth;
+    private final long nodes;
+
+    SearchResult(Status status, String solution, int depth, long nodes) {
+        this.status = status;
+        this.solution = solution;
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the solution, or null if the search was stopped before finding one.
+     */
+    public String getSolution() {
+        return solution;
+    }
+
+    /**
+     * Returns the length of the solution. If no solution was found, this is the number of moves
+     * every solution is known to need at least.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of nodes visited by the search.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        if (solution != null) {
+            return solution;
+        }
+
+        return "(" + status + " after " + nodes + " nodes, at least " + depth + " moves)";
+    }
+}
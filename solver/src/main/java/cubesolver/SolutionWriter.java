@@ -0,0 +1,132 @@
+package cubesolver;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes solutions to a file as they are found. Every few scrambles, the output is synced to disk and
+ * a checkpoint file is written next to it, recording how far into the input and the output we have come.
+ * An interrupted run may then be resumed from the checkpoint instead of starting over.
+ */
+public class SolutionWriter implements Closeable {
+    private static final int CHECKPOINT_INTERVAL = 1000;
+
+    /**
+     * The offsets in the scramble file and the solution file to continue from.
+     */
+    public static class Checkpoint {
+        public final long inputOffset;
+        public final long outputOffset;
+
+        public Checkpoint(long inputOffset, long outputOffset) {
+            this.inputOffset = inputOffset;
+            this.outputOffset = outputOffset;
+        }
+    }
+
+    private final List<String> names;
+
+    private final FileChannel channel;
+    private final Writer writer;
+    private final Path checkpointPath;
+
+    private int unsavedScrambles = 0;
+    private long inputOffset;
+
+    /**
+     * Opens the solution file at the given path, discarding everything after the given offset.
+     * The names are printed in front of the solutions of every solver.
+     */
+    public SolutionWriter(Path path, List<String> names, long offset) throws IOException {
+        this.names = names;
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(offset);
+        channel.position(offset);
+
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        checkpointPath = getCheckpointPath(path);
+
+        // A run starting from scratch invalidates any earlier checkpoint.
+        if (offset == 0) {
+            Files.deleteIfExists(checkpointPath);
+        }
+    }
+
+    private static Path getCheckpointPath(Path path) {
+        return Paths.get(path + ".checkpoint");
+    }
+
+    /**
+     * Returns the checkpoint of an interrupted run writing to the given path, or null if there is none.
+     */
+    public static Checkpoint readCheckpoint(Path path) throws IOException {
+        Path checkpointPath = getCheckpointPath(path);
+
+        if (!Files.isRegularFile(checkpointPath)) {
+            return null;
+        }
+
+        String[] offsets = Files.readString(checkpointPath).trim().split(" ");
+
+        return new Checkpoint(Long.parseLong(offsets[0]), Long.parseLong(offsets[1]));
+    }
+
+    /**
+     * Writes the solutions of a scramble. The input offset is the offset following the scramble in the scramble file.
+     */
+    public void write(String scramble, List<String> solutions, long inputOffset) throws IOException {
+        writer.write(scramble);
+        writer.write(System.lineSeparator());
+
+        for (int i = 0; i < names.size(); i++) {
+            writer.write(names.get(i) + ": " + solutions.get(i));
+            writer.write(System.lineSeparator());
+        }
+
+        this.inputOffset = inputOffset;
+
+        if (++unsavedScrambles == CHECKPOINT_INTERVAL) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Syncs the solutions written so far to disk and records them in the checkpoint file, so that a run which
+     * cannot continue may be resumed after the last written scramble.
+     */
+    public void checkpoint() throws IOException {
+        writer.flush();
+        channel.force(false);
+
+        Path temporary = Paths.get(checkpointPath + ".tmp");
+        Files.writeString(temporary, inputOffset + " " + channel.position());
+        Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        unsavedScrambles = 0;
+    }
+
+    /**
+     * Flushes all solutions and removes the checkpoint, as there is nothing left to resume.
+     */
+    public void finish() throws IOException {
+        writer.flush();
+        Files.deleteIfExists(checkpointPath);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,203 @@
+package cubesolver;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of optimal solutions, keyed by the coordinates a scramble reaches. Many scrambles reach
+ * the same state for small steps, and those only have to be searched once. For states which were searched
+ * without finding a solution, for instance because another orientation had a shorter one, the cache keeps
+ * the number of moves a solution needs at least.
+ *
+ * The cache is split into segments by the hash of the key, so that threads solving different states rarely
+ * wait for each other. Every segment evicts its least recently used entry once it is full.
+ */
+public class SolveCache implements SolveCacheMBean {
+    private static final int SEGMENTS = 16;
+
+    private final int maximumSize;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SolveCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of a solve cache must be positive");
+        }
+
+        this.maximumSize = maximumSize;
+
+        // Small caches use fewer segments, so that every segment holds at least one entry.
+        segments = new Segment[Math.min(SEGMENTS, maximumSize)];
+
+        for (int i = 0; i < segments.length; i++) {
+            // Spread the remainder over the first segments, so that the sizes add up to the maximum size.
+            segments[i] = new Segment(maximumSize / segments.length + (i < maximumSize % segments.length ? 1 : 0));
+        }
+    }
+
+    /**
+     * The coordinates of a cube, as stored in the coordinate array of a search.
+     */
+    private static class Key {
+        private final int[] coordinate;
+        private final int hash;
+
+        Key(int[] coordinate) {
+            this.coordinate = coordinate.clone();
+            this.hash = Arrays.hashCode(coordinate);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && Arrays.equals(coordinate, ((Key) other).coordinate);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Either the optimal solution of a state, or the length every solution is known to have at least.
+     */
+    static class Entry {
+        final List<Integer> solution;
+        final int lowerBound;
+
+        Entry(List<Integer> solution, int lowerBound) {
+            this.solution = solution;
+            this.lowerBound = lowerBound;
+        }
+    }
+
+    private class Segment extends LinkedHashMap<Key, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    private Segment getSegment(Key key) {
+        // Mix the high bits into the low ones, as the coordinates of nearby states share most of their bits.
+        int hash = key.hash ^ (key.hash >>> 16);
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * Returns the cached entry for the given coordinates, or null if there is none.
+     */
+    Entry get(int[] coordinate) {
+        Key key = new Key(coordinate);
+        Segment segment = getSegment(key);
+        Entry entry;
+
+        synchronized (segment) {
+            entry = segment.get(key);
+        }
+
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        return entry;
+    }
+
+    void putSolution(int[] coordinate, List<Integer> solution) {
+        Key key = new Key(coordinate);
+        Segment segment = getSegment(key);
+
+        synchronized (segment) {
+            segment.put(key, new Entry(solution, solution.size()));
+        }
+    }
+
+    /**
+     * Records that every solution of the state needs at least the given number of moves,
+     * unless the solution or a higher bound is already known.
+     */
+    void putLowerBound(int[] coordinate, int lowerBound) {
+        Key key = new Key(coordinate);
+        Segment segment = getSegment(key);
+
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+
+            if (entry == null || (entry.solution == null && entry.lowerBound < lowerBound)) {
+                segment.put(key, new Entry(null, lowerBound));
+            }
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hits = this.hits.sum();
+        long total = hits + misses.sum();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+}
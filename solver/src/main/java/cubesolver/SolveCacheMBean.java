@@ -0,0 +1,17 @@
+package cubesolver;
+
+public interface SolveCacheMBean {
+    long getHits();
+
+    long getMisses();
+
+    long getEvictions();
+
+    double getHitRate();
+
+    int getSize();
+
+    int getMaximumSize();
+
+    void clear();
+}
@@ -0,0 +1,25 @@
+package cubesolver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("cubesolver.Solve")
+@Label("Solve")
+@Category("Cube Solver")
+@Description("A call to Search.solve while instrumentation is enabled")
+class SolveEvent extends Event {
+    @Label("Step")
+    String step;
+
+    @Label("Status")
+    String status;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes")
+    long nodes;
+}
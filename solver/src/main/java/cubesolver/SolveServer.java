@@ -0,0 +1,325 @@
+package cubesolver;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A local server which keeps a set of solvers and their tables in memory, and solves scrambles sent to it over
+ * TCP. Requests and responses are lines of UTF-8 text. Every connection is handled on its own thread, and its
+ * requests are answered in order, so clients may send several requests before reading the responses.
+ *
+ * The requests are:
+ *
+ *   SOLVE [steps=name,...] [timeout=ms] scramble
+ *   BATCH count [steps=name,...] [timeout=ms], followed by count lines with one scramble each
+ *   HEALTH [steps=name,...]
+ *   QUIT
+ *
+ * A scramble is answered with "OK" followed by "step: solution" for every requested step, all separated by
+ * tabs, and a batch with one such line for each of its scrambles. Steps are all solved by default, and
+ * a timeout applies to all steps of a scramble together. HEALTH is answered with "OK READY" once the tables
+ * of every requested step are built, and "UNAVAILABLE INITIALIZING" before, followed by "step: READY" or
+ * "step: INITIALIZING" for each of them. Steps which are ready are solved right away while the others are
+ * still warming up, and a step which is needed before its turn is built by the request which needs it.
+ * Invalid requests are answered with "ERROR" followed by a message.
+ */
+public class SolveServer implements Closeable {
+    public static final int DEFAULT_PORT = 7777;
+
+    // Larger batches should be split, so that a single connection cannot hold all workers for too long.
+    private static final int MAX_BATCH_SIZE = 10000;
+
+    private final Map<String, Search> solvers = new LinkedHashMap<>();
+    private final TableWarmup warmup;
+
+    private final ServerSocket serverSocket;
+
+    private final ExecutorService connections = Executors.newCachedThreadPool();
+    private final ExecutorService workers;
+
+    /**
+     * Creates a server for the solvers of the given warm-up, listening on the given port of the loopback address.
+     * Batches are solved by the given number of worker threads.
+     */
+    public SolveServer(TableWarmup warmup, int port, int threads) throws IOException {
+        this.warmup = warmup;
+
+        for (Search solver : warmup.getSolvers()) {
+            this.solvers.put(solver.getName().toLowerCase(Locale.ROOT), solver);
+        }
+
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        workers = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public void start() {
+        connections.execute(this::acceptConnections);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handleConnection(socket));
+            } catch (SocketException e) {
+                // The server socket was closed.
+                return;
+            } catch (IOException e) {
+                System.err.println("Error accepting connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (Socket connection = socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                if (line.trim().equalsIgnoreCase("QUIT")) {
+                    break;
+                }
+
+                handleRequest(line.trim(), reader, writer);
+
+                // Responses are only flushed once no more requests are waiting, so pipelined requests are written together.
+                if (!reader.ready()) {
+                    writer.flush();
+                }
+            }
+
+            writer.flush();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error handling connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The steps and time limit of a request, given as name=value options before the scramble.
+     */
+    private static class Options {
+        List<Search> steps;
+        Duration timeout;
+
+        // The part of the request following the options.
+        String rest;
+    }
+
+    private Options parseOptions(String request) {
+        Options options = new Options();
+        options.steps = new ArrayList<>(solvers.values());
+
+        String[] parts = request.split(" +");
+        int i = 0;
+
+        for (; i < parts.length && parts[i].contains("="); i++) {
+            String name = parts[i].substring(0, parts[i].indexOf('='));
+            String value = parts[i].substring(parts[i].indexOf('=') + 1);
+
+            if (name.equals("steps")) {
+                options.steps = new ArrayList<>();
+
+                for (String step : value.split(",")) {
+                    Search solver = solvers.get(step.toLowerCase(Locale.ROOT));
+
+                    if (solver == null) {
+                        throw new IllegalArgumentException("Unknown step " + step);
+                    }
+
+                    options.steps.add(solver);
+                }
+            } else if (name.equals("timeout")) {
+                try {
+                    options.timeout = Duration.ofMillis(Long.parseLong(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid timeout " + value);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+
+        options.rest = String.join(" ", Arrays.copyOfRange(parts, i, parts.length));
+
+        return options;
+    }
+
+    private void handleRequest(String request, BufferedReader reader, BufferedWriter writer) throws IOException {
+        String[] words = request.split(" +", 2);
+        String command = words[0].toUpperCase(Locale.ROOT);
+        String arguments = words.length > 1 ? words[1].trim() : "";
+
+        try {
+            switch (command) {
+                case "HEALTH":
+                    writeLine(writer, health(parseOptions(arguments).steps));
+                    break;
+                case "SOLVE":
+                    Options options = parseOptions(arguments);
+                    writeLine(writer, solve(options.steps, options.timeout, options.rest));
+                    break;
+                case "BATCH":
+                    handleBatch(arguments, reader, writer);
+                    break;
+                default:
+                    writeLine(writer, "ERROR Unknown command " + command);
+            }
+        } catch (IllegalArgumentException e) {
+            writeLine(writer, "ERROR " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Any other failure only fails this request, so that the connection can still be used.
+            System.err.println("Error handling request " + request + ": " + e);
+            writeLine(writer, "ERROR " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Reads the scrambles of a batch, solves them on the worker threads and writes the results in order.
+     */
+    private void handleBatch(String arguments, BufferedReader reader, BufferedWriter writer) throws IOException {
+        String[] parts = arguments.split(" ", 2);
+        int count;
+
+        try {
+            count = Integer.parseInt(parts[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid batch size " + parts[0]);
+        }
+
+        if (count < 0 || count > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 0 and " + MAX_BATCH_SIZE);
+        }
+
+        // The scrambles are read before the options are checked, so that they are never mistaken for requests.
+        List<String> scrambles = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            String scramble = reader.readLine();
+
+            if (scramble == null) {
+                throw new IOException("Connection closed in the middle of a batch");
+            }
+
+            scrambles.add(scramble);
+        }
+
+        Options options;
+
+        try {
+            options = parseOptions(parts.length > 1 ? parts[1] : "");
+        } catch (IllegalArgumentException e) {
+            for (int i = 0; i < count; i++) {
+                writeLine(writer, "ERROR " + e.getMessage());
+            }
+
+            return;
+        }
+
+        List<Future<String>> results = new ArrayList<>(count);
+
+        try {
+            for (String scramble : scrambles) {
+                results.add(workers.submit(() -> solve(options.steps, options.timeout, scramble)));
+            }
+
+            // A scramble which fails is answered with an error, so that every scramble still gets exactly one line.
+            for (Future<String> result : results) {
+                String response;
+
+                try {
+                    response = BatchSolver.await(result);
+                } catch (RuntimeException e) {
+                    System.err.println("Error solving batch: " + e);
+                    response = "ERROR " + e.getMessage();
+                }
+
+                writeLine(writer, response);
+            }
+        } finally {
+            for (Future<String> result : results) {
+                result.cancel(true);
+            }
+        }
+    }
+
+    private String health(List<Search> steps) {
+        boolean ready = steps.stream().allMatch(warmup::isReady);
+        StringBuilder response = new StringBuilder(ready ? "OK READY" : "UNAVAILABLE INITIALIZING");
+
+        for (Search solver : steps) {
+            response.append('\t').append(solver.getName()).append(": ").append(warmup.isReady(solver) ? "READY" : "INITIALIZING");
+        }
+
+        return response.toString();
+    }
+
+    /**
+     * Solves a scramble for the given steps, with a deadline shared by all of them, and formats the response line.
+     */
+    private String solve(List<Search> steps, Duration timeout, String scramble) {
+        if (!Scrambles.validateSequence(scramble)) {
+            return "ERROR Unable to parse scramble";
+        }
+
+        // Steps which are not ready yet are built first, so that the deadline only covers the search.
+        for (Search solver : steps) {
+            warmup.get(solver);
+        }
+
+        SearchLimits limits = timeout != null ? SearchLimits.withTimeout(timeout) : SearchLimits.NONE;
+        MultiStepResult result = new MultiStepSolver(steps).solve(scramble, Collections.singletonList(CubeOrientation.IDENTITY), limits);
+
+        StringBuilder response = new StringBuilder("OK");
+
+        for (int i = 0; i < steps.size(); i++) {
+            response.append('\t').append(result.getSteps().get(i)).append(": ").append(result.getResults().get(i).toString().trim());
+        }
+
+        return response.toString();
+    }
+
+    private static void writeLine(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+}
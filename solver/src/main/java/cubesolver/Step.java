@@ -0,0 +1,56 @@
+package cubesolver;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static cubesolver.Search.CoordinateKind.*;
+
+/**
+ * The steps we are able to solve, defined by the pieces which have to be solved relative to the D face.
+ */
+public enum Step {
+    EOLINE("EOLine", Arrays.asList(5, 7), Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), null, null),
+    EOCROSS("EOCross", Arrays.asList(4, 5, 6, 7), Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), null, null),
+    CROSS("Cross", Arrays.asList(4, 5, 6, 7), Arrays.asList(4, 5, 6, 7), null, null),
+    XCROSS("XCross", Arrays.asList(4, 5, 6, 7, 8), Arrays.asList(4, 5, 6, 7, 8), Arrays.asList(4), Arrays.asList(4),
+            new Search.CoordinateKind[] { EDGE_PERMUTATION, CORNER_PERMUTATION }, new Search.CoordinateKind[] { CORNER_ORIENTATION, CORNER_PERMUTATION }),
+    EOXCROSS("EOXCross", Arrays.asList(4, 5, 6, 7, 8), Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), Arrays.asList(4), Arrays.asList(4),
+            new Search.CoordinateKind[] { EDGE_PERMUTATION, CORNER_PERMUTATION }, new Search.CoordinateKind[] { CORNER_ORIENTATION, CORNER_PERMUTATION });
+
+    private final String description;
+
+    private final List<Integer> affectedPermutationPieces;
+    private final List<Integer> affectedOrientationPieces;
+
+    private final List<Integer> affectedCornerOrientationPieces;
+    private final List<Integer> affectedCornerPermutationPieces;
+
+    // The slot edge and corner are solved together, so a table over the product of their coordinates is far more accurate.
+    private final Search.CoordinateKind[][] productPruningTables;
+
+    Step(String description, List<Integer> affectedPermutationPieces, List<Integer> affectedOrientationPieces, List<Integer> affectedCornerOrientationPieces, List<Integer> affectedCornerPermutationPieces, Search.CoordinateKind[]... productPruningTables) {
+        this.description = description;
+        this.affectedPermutationPieces = affectedPermutationPieces;
+        this.affectedOrientationPieces = affectedOrientationPieces;
+        this.affectedCornerOrientationPieces = affectedCornerOrientationPieces;
+        this.affectedCornerPermutationPieces = affectedCornerPermutationPieces;
+        this.productPruningTables = productPruningTables;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Creates a new, uninitialized solver for this step.
+     */
+    public Search createSearch() {
+        Search search = new Search(description, affectedPermutationPieces, affectedOrientationPieces, affectedCornerOrientationPieces, affectedCornerPermutationPieces);
+
+        for (Search.CoordinateKind[] coordinates : productPruningTables) {
+            search.addProductPruningTable(coordinates);
+        }
+
+        return search;
+    }
+}
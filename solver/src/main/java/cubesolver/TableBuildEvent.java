@@ -0,0 +1,21 @@
+package cubesolver;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("cubesolver.TableBuild")
+@Label("Table Build")
+@Category("Cube Solver")
+@Description("Creating a move or pruning table, either by computing it or by loading a snapshot")
+class TableBuildEvent extends Event {
+    @Label("Table")
+    String table;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,108 @@
+package cubesolver;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps a single instance of every move and pruning table in the process, so that solvers
+ * using the same coordinates share their tables instead of computing them again. Tables are
+ * identified by a key naming the coordinate, the number of pieces and, for pruning tables, the goal.
+ *
+ * If several threads ask for the same table at once, it is computed by the first one while
+ * the others wait for it. The time taken to create every table and its size are recorded.
+ */
+public class TableRegistry implements TableRegistryMBean {
+    private static final TableRegistry INSTANCE = new TableRegistry();
+
+    private final ConcurrentMap<String, CompletableFuture<MoveTable>> moveTables = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<PruningTable>> pruningTables = new ConcurrentHashMap<>();
+
+    private final AtomicInteger deduplicatedTables = new AtomicInteger();
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    private final ConcurrentMap<String, String> tableStatistics = new ConcurrentHashMap<>();
+
+    public static TableRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private <T> T getTable(ConcurrentMap<String, CompletableFuture<T>> tables, String key, Supplier<T> create, ToLongFunction<T> byteSize) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<T> existing = tables.putIfAbsent(key, future);
+
+        if (existing != null) {
+            T table = existing.join();
+
+            deduplicatedTables.incrementAndGet();
+            savedBytes.addAndGet(byteSize.applyAsLong(table));
+
+            return table;
+        }
+
+        try {
+            TableBuildEvent event = new TableBuildEvent();
+            event.begin();
+
+            long start = System.nanoTime();
+            T table = create.get();
+            long time = (System.nanoTime() - start) / 1000000;
+
+            event.table = key;
+            event.bytes = byteSize.applyAsLong(table);
+            event.commit();
+
+            tableStatistics.put(key, event.bytes + " bytes, created in " + time + " ms");
+
+            future.complete(table);
+            return table;
+        } catch (RuntimeException | Error e) {
+            // Let a later caller try again instead of failing forever.
+            tables.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the move table with the given key, creating it if it does not exist yet.
+     */
+    public MoveTable getMoveTable(String key, Supplier<MoveTable> create) {
+        return getTable(moveTables, key, create, MoveTable::getByteSize);
+    }
+
+    /**
+     * Returns the pruning table with the given key, creating it if it does not exist yet.
+     */
+    public PruningTable getPruningTable(String key, Supplier<PruningTable> create) {
+        return getTable(pruningTables, key, create, PruningTable::getByteSize);
+    }
+
+    /**
+     * Returns the size and creation time of every table.
+     */
+    @Override
+    public String[] getTables() {
+        return tableStatistics.entrySet().stream().map(entry -> entry.getKey() + ": " + entry.getValue()).sorted().toArray(String[]::new);
+    }
+
+    /**
+     * Returns how many times an existing table was handed out instead of creating a new one.
+     */
+    @Override
+    public int getDeduplicatedTables() {
+        return deduplicatedTables.get();
+    }
+
+    /**
+     * Returns the memory in bytes which would have been used by duplicate tables.
+     */
+    @Override
+    public long getSavedBytes() {
+        return savedBytes.get();
+    }
+}
@@ -0,0 +1,9 @@
+package cubesolver;
+
+public interface TableRegistryMBean {
+    int getDeduplicatedTables();
+
+    long getSavedBytes();
+
+    String[] getTables();
+}
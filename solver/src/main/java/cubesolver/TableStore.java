@@ -0,0 +1,202 @@
+package cubesolver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Stores move and pruning tables as binary snapshots in a directory, so that they only
+ * have to be computed the first time a solver is initialized. Snapshots are read through
+ * memory mapped files and copied into the arrays of the tables, so every process loading
+ * a snapshot holds its own copy of the table on the heap.
+ *
+ * Every snapshot consists of a header followed by the data section:
+ * magic, format version, key, data length, CRC32 of the data, and the data itself,
+ * which starts with a byte describing the kind of table.
+ * A snapshot which is missing, has a different version or key, fails the checksum, or does
+ * not have the length of a table of the expected size is recomputed and written again.
+ */
+public class TableStore {
+    private static final int MAGIC = 0x43554245; // "CUBE"
+
+    /**
+     * Increment this whenever the contents of any table change, so stale snapshots are rebuilt.
+     */
+    private static final int VERSION = 2;
+
+    private static final byte KIND_SMALL_MOVE_TABLE = 0;
+    private static final byte KIND_LARGE_MOVE_TABLE = 1;
+    private static final byte KIND_PRUNING_TABLE = 2;
+
+    private final Path directory;
+
+    public TableStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public MoveTable loadMoveTable(String key, int size, CoordinateMove doMove) {
+        ByteBuffer data = read(key);
+        long entries = (long) size * MoveTable.NUM_MOVES;
+
+        if (data != null && data.get(0) == KIND_SMALL_MOVE_TABLE && data.limit() - 1 == entries * Character.BYTES) {
+            char[] table = new char[(int) entries];
+            data.position(1).asCharBuffer().get(table);
+            return new MoveTable(table);
+        }
+
+        if (data != null && data.get(0) == KIND_LARGE_MOVE_TABLE && data.limit() - 1 == entries * Integer.BYTES) {
+            int[] table = new int[(int) entries];
+            data.position(1).asIntBuffer().get(table);
+            return new MoveTable(table);
+        }
+
+        MoveTable moveTable = new MoveTable(size, doMove);
+
+        if (moveTable.getSmallTable() != null) {
+            char[] table = moveTable.getSmallTable();
+            ByteBuffer buffer = ByteBuffer.allocate(1 + table.length * Character.BYTES);
+            buffer.put(KIND_SMALL_MOVE_TABLE).asCharBuffer().put(table);
+            write(key, buffer);
+        } else {
+            int[] table = moveTable.getLargeTable();
+            ByteBuffer buffer = ByteBuffer.allocate(1 + table.length * Integer.BYTES);
+            buffer.put(KIND_LARGE_MOVE_TABLE).asIntBuffer().put(table);
+            write(key, buffer);
+        }
+
+        return moveTable;
+    }
+
+    public PruningTable loadPruningTable(String key, int size, MoveTable moveTable, Collection<Integer> solvedIndexes) {
+        return loadPruningTable(key, size, () -> new PruningTable(size, moveTable, solvedIndexes));
+    }
+
+    public PruningTable loadPruningTable(String key, int size, MoveTable moveTable, int defaultPosition) {
+        return loadPruningTable(key, size, () -> new PruningTable(size, moveTable, defaultPosition));
+    }
+
+    /**
+     * Loads a pruning table of the given number of indexes, computing it with the given function
+     * if there is no valid snapshot.
+     */
+    public PruningTable loadPruningTable(String key, int size, Supplier<PruningTable> compute) {
+        ByteBuffer data = read(key);
+
+        // Every byte holds the values of two indexes.
+        if (data != null && data.get(0) == KIND_PRUNING_TABLE && data.limit() - 1 == (size + 1L) / 2) {
+            byte[] table = new byte[data.limit() - 1];
+            data.position(1).get(table);
+            return new PruningTable(table);
+        }
+
+        PruningTable pruningTable = compute.get();
+
+        byte[] table = pruningTable.getTable();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + table.length);
+        buffer.put(KIND_PRUNING_TABLE).put(table);
+        write(key, buffer);
+
+        return pruningTable;
+    }
+
+    private Path getPath(String key) {
+        return directory.resolve(key.replaceAll("[^A-Za-z0-9]+", "-") + ".table");
+    }
+
+    /**
+     * Returns the data section of the snapshot with the given key, starting with the table kind,
+     * or null if there is no valid snapshot. A data section without the table kind is not valid.
+     */
+    private ByteBuffer read(String key) {
+        Path path = getPath(key);
+
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+
+            byte[] storedKey = new byte[buffer.getShort()];
+            buffer.get(storedKey);
+
+            if (!key.equals(new String(storedKey, StandardCharsets.UTF_8))) {
+                return null;
+            }
+
+            int length = buffer.getInt();
+            long checksum = buffer.getLong();
+
+            if (buffer.remaining() != length) {
+                return null;
+            }
+
+            ByteBuffer data = buffer.slice();
+
+            if (data.limit() == 0) {
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(data.duplicate());
+
+            if (crc.getValue() != checksum) {
+                return null;
+            }
+
+            return data;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading table " + key + ", recomputing it");
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot to a temporary file first and then moves it into place, so that other
+     * processes never observe a partially written snapshot.
+     */
+    private void write(String key, ByteBuffer data) {
+        data.rewind();
+
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+
+        byte[] storedKey = key.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer header = ByteBuffer.allocate(4 + 4 + 2 + storedKey.length + 4 + 8);
+        header.putInt(MAGIC).putInt(VERSION).putShort((short) storedKey.length).put(storedKey);
+        header.putInt(data.remaining()).putLong(crc.getValue());
+        header.flip();
+
+        Path path = getPath(key);
+
+        try {
+            Files.createDirectories(directory);
+
+            Path temporary = Files.createTempFile(directory, null, ".tmp");
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining() || data.hasRemaining()) {
+                    channel.write(new ByteBuffer[] { header, data });
+                }
+            }
+
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error saving table " + key);
+        }
+    }
+}
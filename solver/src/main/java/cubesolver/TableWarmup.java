@@ -0,0 +1,131 @@
+package cubesolver;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Initializes a set of solvers in the background, so that solving can start before all tables are built.
+ * Solvers are initialized in the order they are given, which should put the solvers that are cheapest
+ * to initialize or most needed first, with several of them initialized at once if there are multiple threads.
+ *
+ * A solver which is needed before its turn is initialized right away on the thread which needs it, through get.
+ * Tables shared between solvers are only built once, with any other solver needing them waiting for the first.
+ */
+public class TableWarmup {
+    private final List<Search> solvers;
+    private final TableStore store;
+    private final int threads;
+
+    private final Map<Search, CompletableFuture<Search>> ready = new IdentityHashMap<>();
+
+    /**
+     * Creates a warm-up for the given solvers, in priority order, loading tables from the given store when possible.
+     * The store may be null, in which case all tables are computed.
+     */
+    public TableWarmup(List<Search> solvers, TableStore store, int threads) {
+        this.solvers = new ArrayList<>(solvers);
+        this.store = store;
+        this.threads = threads;
+
+        for (Search solver : solvers) {
+            ready.put(solver, new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Starts initializing every solver on background threads, which stop once all of them are initialized.
+     */
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "table-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Search solver : solvers) {
+            executor.execute(() -> {
+                try {
+                    initialize(solver);
+                } catch (RuntimeException e) {
+                    System.err.println("Error initializing " + solver.getName() + ": " + e.getMessage());
+                }
+            });
+        }
+
+        executor.shutdown();
+    }
+
+    private void initialize(Search solver) {
+        CompletableFuture<Search> future = getFuture(solver);
+
+        try {
+            solver.initialize(store);
+            future.complete(solver);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Search> getFuture(Search solver) {
+        CompletableFuture<Search> future = ready.get(solver);
+
+        if (future == null) {
+            throw new IllegalArgumentException("Solver " + solver.getName() + " is not part of this warm-up");
+        }
+
+        return future;
+    }
+
+    /**
+     * Returns the solver once it is initialized. If the background threads have not started on it yet,
+     * it is initialized on the calling thread, and if they are in the middle of it, this waits for them.
+     */
+    public Search get(Search solver) {
+        if (!solver.isInitialized()) {
+            initialize(solver);
+        }
+
+        return solver;
+    }
+
+    public List<Search> getSolvers() {
+        return solvers;
+    }
+
+    /**
+     * Returns true if the solver is initialized, so that solving with it does not have to wait.
+     */
+    public boolean isReady(Search solver) {
+        return solver.isInitialized();
+    }
+
+    /**
+     * Returns true once every solver is initialized.
+     */
+    public boolean isReady() {
+        return solvers.stream().allMatch(this::isReady);
+    }
+
+    /**
+     * Returns a future which completes with the solver once it is initialized.
+     */
+    public CompletableFuture<Search> whenReady(Search solver) {
+        return getFuture(solver);
+    }
+
+    /**
+     * Returns a future which completes once every solver is initialized.
+     */
+    public CompletableFuture<Void> whenReady() {
+        return CompletableFuture.allOf(ready.values().toArray(new CompletableFuture<?>[0]));
+    }
+}
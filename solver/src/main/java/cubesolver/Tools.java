@@ -0,0 +1,51 @@
+package cubesolver;
+
+/**
+ * Combinatorics used to size coordinate spaces. The results are longs, as the number of ways to arrange
+ * many pieces quickly grows beyond an int, and an ArithmeticException is thrown if even a long overflows.
+ */
+public class Tools {
+    /**
+     * Computes the factorial n!.
+     */
+    public static long factorial(int n) {
+        long result = 1;
+
+        for (int i = 2; i <= n; i++) {
+            result = Math.multiplyExact(result, i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the number of ways to place k distinguishable pieces in n positions, n! / (n - k)!.
+     */
+    public static long permutations(int n, int k) {
+        long result = 1;
+
+        for (int i = n - k + 1; i <= n; i++) {
+            result = Math.multiplyExact(result, i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the number of ways to choose k of n positions, C(n, k).
+     */
+    public static long binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+
+        long result = 1;
+
+        // Every intermediate result is itself a binomial coefficient, so the division is exact.
+        for (int i = 1; i <= k; i++) {
+            result = Math.multiplyExact(result, n - k + i) / i;
+        }
+
+        return result;
+    }
+}
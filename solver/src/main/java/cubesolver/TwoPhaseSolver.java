@@ -0,0 +1,396 @@
+package cubesolver;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Solves the whole cube with Kociemba's two-phase algorithm.
+ *
+ * Phase 1 brings the cube into the subgroup generated by U, D, R2, L2, F2 and B2, where every edge and
+ * corner is oriented and the four UD-slice edges are in the slice. Phase 2 then solves the cube using
+ * only those moves. After the first solution is found, the solver keeps searching longer phase 1
+ * solutions, as these often lead to a shorter total, until the solution is no longer than the target length
+ * or the limits of the search are reached.
+ */
+public class TwoPhaseSolver {
+    public static final int DEFAULT_TARGET_LENGTH = 21;
+
+    // A first solution is usually found within a few milliseconds, and most positions reach the default target
+    // length within a few tens of milliseconds, but proving that a few of them have no such solution can take much longer.
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(100);
+
+    // No solution is searched beyond this length, which is far more than any position needs.
+    private static final int MAX_LENGTH = 30;
+
+    // Until a first solution is found, phase 2 is only searched up to this depth. Some phase 1 solution
+    // soon leads to a phase 2 solution this short, while searching every phase 1 solution up to the maximum
+    // length can take longer than the whole time limit.
+    private static final int MAX_FIRST_PHASE_2_DEPTH = 12;
+
+    private static final int NUM_FLIPS = 2048;
+    private static final int NUM_TWISTS = 2187;
+    private static final int NUM_SLICES = 495;
+    private static final int NUM_PERMUTATIONS = 40320;
+    private static final int NUM_SLICE_PERMUTATIONS = 24;
+
+    // The moves of phase 2: F2, R2, U, U2, U', B2, L2, D, D2 and D'.
+    private static final int[] PHASE_2_MOVES = { 1, 4, 6, 7, 8, 10, 13, 15, 16, 17 };
+
+    private static final boolean[] IS_PHASE_2_MOVE = new boolean[MoveTable.NUM_MOVES];
+
+    private static final int PHASE_2_MOVE_MASK;
+
+    static {
+        int mask = 0;
+
+        for (int move : PHASE_2_MOVES) {
+            IS_PHASE_2_MOVE[move] = true;
+            mask |= 1 << move;
+        }
+
+        PHASE_2_MOVE_MASK = mask;
+    }
+
+    // The UD-slice edges FR, FL, BL and BR are the last four edges.
+    private static final int SOLVED_SLICE = Coordinates.getIndexFromCombination(0xf00);
+
+    private static final int SOLVED_PERMUTATION = Coordinates.getIndexFromPackedPermutation(0x76543210L, 8, 8);
+    private static final int SOLVED_SLICE_PERMUTATION = Coordinates.getIndexFromPackedPermutation(0x3210L, 4, 4);
+
+    private static final long SOLVED_EDGES = 0xba9876543210L;
+    private static final long SOLVED_CORNERS = 0x76543210L;
+
+    private static final List<Integer> ALL_CORNERS = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7);
+
+    private final int maxFirstPhase2Depth;
+
+    private volatile boolean initialized = false;
+
+    private MoveTable flipMoves;
+    private MoveTable twistMoves;
+    private MoveTable sliceMoves;
+
+    private MoveTable cornerPermutationMoves;
+    private MoveTable edgePermutationMoves;
+    private MoveTable slicePermutationMoves;
+
+    private PruningTable pruneSliceTwist;
+    private PruningTable pruneSliceFlip;
+    private PruningTable pruneTwistFlip;
+
+    private PruningTable pruneCornerSlicePermutation;
+    private PruningTable pruneEdgeSlicePermutation;
+
+    public TwoPhaseSolver() {
+        this(MAX_FIRST_PHASE_2_DEPTH);
+    }
+
+    /**
+     * Creates a solver which searches phase 2 up to the given depth until a first solution is found,
+     * so that tests can cut phase 2 short on positions which are solved in a few moves.
+     */
+    TwoPhaseSolver(int maxFirstPhase2Depth) {
+        this.maxFirstPhase2Depth = maxFirstPhase2Depth;
+    }
+
+    /**
+     * Returns the new index of the permutation of the eight U and D edges after a phase 2 move.
+     * Other moves take these edges out of their layers, so the result is 0 for them.
+     */
+    private static int edgePermutationMove(int index, int move) {
+        if (!IS_PHASE_2_MOVE[move]) {
+            return 0;
+        }
+
+        long permutation = Coordinates.getPackedPermutationFromIndex(index, 8, 8);
+        return Coordinates.getIndexFromPackedPermutation(CubieCube.packedPermutationMove(permutation, 8, move), 8, 8);
+    }
+
+    /**
+     * Returns the new index of the permutation of the UD-slice edges within the slice after a phase 2 move.
+     * The positions are stored relative to the first slice position. Other moves give 0.
+     */
+    private static int slicePermutationMove(int index, int move) {
+        if (!IS_PHASE_2_MOVE[move]) {
+            return 0;
+        }
+
+        long permutation = Coordinates.getPackedPermutationFromIndex(index, 4, 4) + 0x8888L;
+        return Coordinates.getIndexFromPackedPermutation(CubieCube.packedPermutationMove(permutation, 4, move) - 0x8888L, 4, 4);
+    }
+
+    private MoveTable createMoveTable(TableStore store, String key, int size, CoordinateMove doMove) {
+        return TableRegistry.getInstance().getMoveTable(key, () -> {
+            if (store == null) {
+                return new MoveTable(size, doMove);
+            }
+
+            return store.loadMoveTable(key, size, doMove);
+        });
+    }
+
+    /**
+     * Creates a pruning table over the product of two coordinates, indexed as first * secondSize + second.
+     */
+    private PruningTable createPruningTable(TableStore store, String key, MoveTable first, MoveTable second, int firstSize, int secondSize, int[] moves, int solvedIndex) {
+        CoordinateMove doMove = (index, move) -> first.doMove(index / secondSize, move) * secondSize + second.doMove(index % secondSize, move);
+
+        return TableRegistry.getInstance().getPruningTable(key, () -> {
+            if (store == null) {
+                return new PruningTable(firstSize * secondSize, doMove, moves, Collections.singleton(solvedIndex));
+            }
+
+            return store.loadPruningTable(key, firstSize * secondSize, () -> new PruningTable(firstSize * secondSize, doMove, moves, Collections.singleton(solvedIndex)));
+        });
+    }
+
+    public void initialize() {
+        initialize(null);
+    }
+
+    /**
+     * Initializes the solver, loading tables from the given store when possible. The orientation and
+     * corner permutation move tables are shared with the step solvers through the TableRegistry.
+     */
+    public synchronized void initialize(TableStore store) {
+        if (this.initialized) {
+            return;
+        }
+
+        flipMoves = createMoveTable(store, "edge-orientation", NUM_FLIPS, Coordinates::orientationMove);
+        twistMoves = createMoveTable(store, "corner-orientation", NUM_TWISTS, Coordinates::cornerOrientationMove);
+        sliceMoves = createMoveTable(store, "edge-combination 4 pieces", NUM_SLICES, (index, move) -> Coordinates.combinationMove(index, move, 4));
+
+        cornerPermutationMoves = createMoveTable(store, "corner-permutation 8 pieces", NUM_PERMUTATIONS, (index, move) -> Coordinates.cornerPermutationMove(index, move, ALL_CORNERS));
+        edgePermutationMoves = createMoveTable(store, "phase-2 edge-permutation", NUM_PERMUTATIONS, TwoPhaseSolver::edgePermutationMove);
+        slicePermutationMoves = createMoveTable(store, "phase-2 slice-permutation", NUM_SLICE_PERMUTATIONS, TwoPhaseSolver::slicePermutationMove);
+
+        pruneSliceTwist = createPruningTable(store, "phase-1 slice corner-orientation pruning", sliceMoves, twistMoves, NUM_SLICES, NUM_TWISTS, MoveTable.ALL_MOVES, SOLVED_SLICE * NUM_TWISTS);
+        pruneSliceFlip = createPruningTable(store, "phase-1 slice edge-orientation pruning", sliceMoves, flipMoves, NUM_SLICES, NUM_FLIPS, MoveTable.ALL_MOVES, SOLVED_SLICE * NUM_FLIPS);
+        pruneTwistFlip = createPruningTable(store, "phase-1 corner-orientation edge-orientation pruning", twistMoves, flipMoves, NUM_TWISTS, NUM_FLIPS, MoveTable.ALL_MOVES, 0);
+
+        pruneCornerSlicePermutation = createPruningTable(store, "phase-2 corner-permutation slice-permutation pruning", cornerPermutationMoves, slicePermutationMoves,
+                NUM_PERMUTATIONS, NUM_SLICE_PERMUTATIONS, PHASE_2_MOVES, SOLVED_PERMUTATION * NUM_SLICE_PERMUTATIONS + SOLVED_SLICE_PERMUTATION);
+        pruneEdgeSlicePermutation = createPruningTable(store, "phase-2 edge-permutation slice-permutation pruning", edgePermutationMoves, slicePermutationMoves,
+                NUM_PERMUTATIONS, NUM_SLICE_PERMUTATIONS, PHASE_2_MOVES, SOLVED_PERMUTATION * NUM_SLICE_PERMUTATIONS + SOLVED_SLICE_PERMUTATION);
+
+        this.initialized = true;
+    }
+
+    /**
+     * Solves the cube with the default target length, returning the best solution found before the default timeout.
+     */
+    public String solve(String scramble) {
+        String solution = solve(scramble, DEFAULT_TARGET_LENGTH, SearchLimits.withTimeout(DEFAULT_TIMEOUT)).getSolution();
+        return solution == null ? "" : solution;
+    }
+
+    /**
+     * Solves the cube, stopping as soon as a solution of at most the target length is found. If the limits are
+     * reached first, the shortest solution found so far is returned with the status SUBOPTIMAL. A target length
+     * of 0 keeps searching until the solution is known to be optimal, which may take a very long time.
+     */
+    public SearchResult solve(String scramble, int targetLength, SearchLimits limits) {
+        if (!initialized) {
+            initialize();
+        }
+
+        int[] moves = Scrambles.parseMoves(scramble);
+
+        int flip = Coordinates.getIndexFromPackedEdgeOrientation(0);
+        int twist = Coordinates.getIndexFromPackedCornerOrientation(0);
+        int slice = SOLVED_SLICE;
+
+        long edges = SOLVED_EDGES;
+        long corners = SOLVED_CORNERS;
+
+        for (int move : moves) {
+            flip = flipMoves.doMove(flip, move);
+            twist = twistMoves.doMove(twist, move);
+            slice = sliceMoves.doMove(slice, move);
+
+            edges = CubieCube.packedPermutationMove(edges, 12, move);
+            corners = CubieCube.packedCornerPermutationMove(corners, 8, move);
+        }
+
+        SearchBudget budget = new SearchBudget(limits);
+        Attempt attempt = new Attempt(budget.newCounter(), targetLength, edges, corners);
+
+        int depth = getPhase1Bound(flip, twist, slice);
+        boolean stopped = false;
+
+        for (; depth < attempt.bestLength && depth <= MAX_LENGTH; depth++) {
+            if (attempt.phase1(flip, twist, slice, depth, 0, MoveSequences.START)) {
+                stopped = true;
+                break;
+            }
+        }
+
+        attempt.counter.flush();
+
+        if (attempt.best != null) {
+            List<Integer> solution = Arrays.asList(attempt.best);
+            SearchResult.Status status = stopped || attempt.truncated ? SearchResult.Status.SUBOPTIMAL : SearchResult.Status.OPTIMAL;
+
+            return new SearchResult(status, Scrambles.formatMoveSequence(solution), solution.size(), budget.getNodes());
+        }
+
+        SearchResult.Status reason = budget.getStopReason();
+
+        return new SearchResult(reason == null ? SearchResult.Status.BOUND_EXCEEDED : reason, null, depth, budget.getNodes());
+    }
+
+    private int getPhase1Bound(int flip, int twist, int slice) {
+        int bound = Math.max(pruneSliceTwist.getPruningValue(slice * NUM_TWISTS + twist), pruneSliceFlip.getPruningValue(slice * NUM_FLIPS + flip));
+        return Math.max(bound, pruneTwistFlip.getPruningValue(twist * NUM_FLIPS + flip));
+    }
+
+    private int getPhase2Bound(int cornerPermutation, int edgePermutation, int slicePermutation) {
+        return Math.max(pruneCornerSlicePermutation.getPruningValue(cornerPermutation * NUM_SLICE_PERMUTATIONS + slicePermutation),
+                pruneEdgeSlicePermutation.getPruningValue(edgePermutation * NUM_SLICE_PERMUTATIONS + slicePermutation));
+    }
+
+    /**
+     * The state of a single call to solve. The current move sequence is kept in an array shared by both phases.
+     */
+    private class Attempt {
+        private final SearchBudget.Counter counter;
+        private final int targetLength;
+
+        // The positions of all edges and corners after the scramble, four bits per piece.
+        private final long scrambledEdges;
+        private final long scrambledCorners;
+
+        private final int[] moves = new int[MAX_LENGTH];
+
+        private boolean stopped = false;
+
+        // Whether a phase 2 search was cut short by maxFirstPhase2Depth, in which case the best solution may not be optimal.
+        private boolean truncated = false;
+
+        private Integer[] best = null;
+        private int bestLength = MAX_LENGTH + 1;
+
+        Attempt(SearchBudget.Counter counter, int targetLength, long scrambledEdges, long scrambledCorners) {
+            this.counter = counter;
+            this.targetLength = targetLength;
+            this.scrambledEdges = scrambledEdges;
+            this.scrambledCorners = scrambledCorners;
+        }
+
+        /**
+         * Searches all phase 1 solutions of exactly the given depth, and continues each of them with phase 2.
+         * Returns true if the search has to stop, either because the target length or the limits were reached.
+         */
+        boolean phase1(int flip, int twist, int slice, int depth, int length, int state) {
+            if (counter.visit()) {
+                stopped = true;
+                return true;
+            }
+
+            if (getPhase1Bound(flip, twist, slice) > depth) {
+                return false;
+            }
+
+            if (depth == 0) {
+                // A phase 1 solution ending with a phase 2 move has already been found without that move.
+                if (length > 0 && IS_PHASE_2_MOVE[moves[length - 1]]) {
+                    return false;
+                }
+
+                return startPhase2(length, state);
+            }
+
+            for (int allowed = MoveSequences.getAllowedMoves(state); allowed != 0; allowed &= allowed - 1) {
+                int move = Integer.numberOfTrailingZeros(allowed);
+                moves[length] = move;
+
+                if (phase1(flipMoves.doMove(flip, move), twistMoves.doMove(twist, move), sliceMoves.doMove(slice, move), depth - 1, length + 1, MoveSequences.getNextState(move))) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Applies the phase 1 solution to the scrambled pieces, and searches for a phase 2 solution
+         * which is short enough to improve the best solution.
+         */
+        private boolean startPhase2(int length, int state) {
+            long edges = scrambledEdges;
+            long corners = scrambledCorners;
+
+            for (int i = 0; i < length; i++) {
+                edges = CubieCube.packedPermutationMove(edges, 12, moves[i]);
+                corners = CubieCube.packedCornerPermutationMove(corners, 8, moves[i]);
+            }
+
+            // The U and D edges are in the first eight positions, and the slice edges in the last four.
+            int edgePermutation = Coordinates.getIndexFromPackedPermutation(edges & 0xffffffffL, 8, 8);
+            int slicePermutation = Coordinates.getIndexFromPackedPermutation((edges >>> 32) - 0x8888L, 4, 4);
+            int cornerPermutation = Coordinates.getIndexFromPackedPermutation(corners, 8, 8);
+
+            // A target length of 0 asks for an optimal solution, so phase 2 is never cut short then.
+            int maxDepth = best == null && targetLength > 0 ? maxFirstPhase2Depth : MAX_LENGTH;
+
+            for (int depth = getPhase2Bound(cornerPermutation, edgePermutation, slicePermutation); length + depth < bestLength; depth++) {
+                if (depth > maxDepth) {
+                    truncated = true;
+                    break;
+                }
+
+                if (phase2(cornerPermutation, edgePermutation, slicePermutation, depth, length, state)) {
+                    bestLength = length + depth;
+                    best = new Integer[bestLength];
+
+                    for (int i = 0; i < bestLength; i++) {
+                        best[i] = moves[i];
+                    }
+
+                    return bestLength <= targetLength;
+                }
+
+                if (stopped) {
+                    return true;
+                }
+            }
+
+            return stopped;
+        }
+
+        private boolean phase2(int cornerPermutation, int edgePermutation, int slicePermutation, int depth, int length, int state) {
+            if (counter.visit()) {
+                stopped = true;
+                return false;
+            }
+
+            if (getPhase2Bound(cornerPermutation, edgePermutation, slicePermutation) > depth) {
+                return false;
+            }
+
+            // Both tables are only 0 when every piece is solved.
+            if (depth == 0) {
+                return true;
+            }
+
+            for (int allowed = MoveSequences.getAllowedMoves(state) & PHASE_2_MOVE_MASK; allowed != 0; allowed &= allowed - 1) {
+                int move = Integer.numberOfTrailingZeros(allowed);
+                moves[length] = move;
+
+                if (phase2(cornerPermutationMoves.doMove(cornerPermutation, move), edgePermutationMoves.doMove(edgePermutation, move),
+                        slicePermutationMoves.doMove(slicePermutation, move), depth - 1, length + 1, MoveSequences.getNextState(move))) {
+                    return true;
+                }
+
+                if (stopped) {
+                    return false;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package cubesolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CoordinatesTest {
+    /**
+     * Checks every index of the given number of pieces against the permutations of the list versions.
+     * The pieces are numbered from 1, as the list versions fill the positions of untracked pieces with 0.
+     */
+    private static void checkPackedPermutations(int pieces, int size, BiFunction<Integer, List<Integer>, List<Integer>> getPermutationFromIndex) {
+        Integer[] affected = new Integer[pieces];
+
+        for (int i = 0; i < pieces; i++) {
+            affected[i] = i + 1;
+        }
+
+        List<Integer> affectedPieces = Arrays.asList(affected);
+        int indexes = Math.toIntExact(Tools.permutations(size, pieces));
+
+        for (int index = 0; index < indexes; index++) {
+            List<Integer> permutation = getPermutationFromIndex.apply(index, affectedPieces);
+            long positions = Coordinates.getPackedPermutationFromIndex(index, pieces, size);
+
+            for (int piece = 0; piece < pieces; piece++) {
+                assertEquals(permutation.indexOf(affectedPieces.get(piece)), (positions >>> (4 * piece)) & 0xf,
+                        "position of piece " + piece + " in index " + index);
+            }
+
+            assertEquals(index, Coordinates.getIndexFromPackedPermutation(positions, pieces, size));
+            assertEquals(index, Coordinates.getIndexFromPermutation(permutation, affectedPieces));
+        }
+    }
+
+    @Test
+    void packedEdgePermutationsMatchListPermutations() {
+        for (int pieces = 1; pieces <= 5; pieces++) {
+            checkPackedPermutations(pieces, 12, Coordinates::getEdgePermutationFromIndex);
+        }
+    }
+
+    @Test
+    void packedCornerPermutationsMatchListPermutations() {
+        for (int pieces = 1; pieces <= 8; pieces++) {
+            checkPackedPermutations(pieces, 8, Coordinates::getCornerPermutationFromIndex);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package cubesolver;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CubeOrientationTest {
+    private static final String SCRAMBLE = "R U R' U' F2 D' L B2";
+
+    private static Search cross;
+
+    @BeforeAll
+    static void initialize() {
+        cross = Step.CROSS.createSearch();
+        cross.initialize();
+    }
+
+    /**
+     * Returns the scramble which looks like the given one on the cube rotated into the given orientation.
+     */
+    private static String unrotate(String scramble, CubeOrientation orientation) {
+        int[] moves = Scrambles.parseMoves(scramble);
+
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = orientation.unrotateMove(moves[i]);
+        }
+
+        return Scrambles.appendMoveSequence(new StringBuilder(), moves, 0, moves.length).toString();
+    }
+
+    @Test
+    void allContainsEveryOrientationOnce() {
+        Set<String> rotatedMoves = new HashSet<>();
+
+        for (CubeOrientation orientation : CubeOrientation.all()) {
+            StringBuilder moves = new StringBuilder();
+
+            for (int move = 0; move < MoveTable.NUM_MOVES; move++) {
+                moves.append(orientation.rotateMove(move)).append(',');
+            }
+
+            rotatedMoves.add(moves.toString());
+        }
+
+        assertEquals(24, CubeOrientation.all().size());
+        assertEquals(24, rotatedMoves.size());
+        assertEquals(CubeOrientation.IDENTITY, CubeOrientation.all().get(0));
+    }
+
+    @Test
+    void unrotateMoveInvertsRotateMove() {
+        for (CubeOrientation orientation : CubeOrientation.all()) {
+            for (int move = 0; move < MoveTable.NUM_MOVES; move++) {
+                assertEquals(move, orientation.unrotateMove(orientation.rotateMove(move)), orientation.getDescription());
+                assertEquals(move, orientation.rotateMove(orientation.unrotateMove(move)), orientation.getDescription());
+            }
+        }
+    }
+
+    @Test
+    void solutionsInRotatedFramesSolveTheScramble() {
+        for (CubeOrientation orientation : CubeOrientation.all()) {
+            List<CubeOrientation> orientations = Collections.singletonList(orientation);
+            String solution = cross.solve(SCRAMBLE, orientations);
+
+            // The solution is expressed in the orientation of the scramble, so appending it solves the cross of the rotated cube.
+            assertEquals("", cross.solve(SCRAMBLE + solution, orientations), orientation.getDescription() + ":" + solution);
+        }
+    }
+
+    @Test
+    void rotatedScramblesAreSolvedInTheirOrientation() {
+        String solution = cross.solve(SCRAMBLE);
+
+        for (CubeOrientation orientation : CubeOrientation.all()) {
+            String rotatedScramble = unrotate(SCRAMBLE, orientation);
+            String rotatedSolution = cross.solve(rotatedScramble, Collections.singletonList(orientation));
+
+            assertEquals(unrotate(solution, orientation), rotatedSolution, orientation.getDescription());
+        }
+    }
+
+    @Test
+    void neutralSolveIsTheShortestOfAllOrientations() {
+        int shortest = Integer.MAX_VALUE;
+
+        for (CubeOrientation orientation : CubeOrientation.all()) {
+            shortest = Math.min(shortest, Scrambles.parseMoves(cross.solve(SCRAMBLE, Collections.singletonList(orientation))).length);
+        }
+
+        String solution = cross.solve(SCRAMBLE, CubeOrientation.all());
+
+        assertEquals(shortest, Scrambles.parseMoves(solution).length);
+        assertTrue(CubeOrientation.all().stream().anyMatch(orientation -> cross.solve(SCRAMBLE + solution, Collections.singletonList(orientation)).isEmpty()), solution);
+    }
+}
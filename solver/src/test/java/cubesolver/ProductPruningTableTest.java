@@ -0,0 +1,33 @@
+package cubesolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductPruningTableTest {
+    @Test
+    void offHeapProductMatchesProduct() {
+        Coordinate cornerPermutation = Coordinate.cornerPermutation(Arrays.asList(4, 5));
+        Coordinate edgeOrientation = Coordinate.edgeOrientation(Arrays.asList(4, 5, 6, 7));
+        cornerPermutation.initialize(null);
+        edgeOrientation.initialize(null);
+
+        Coordinate[] parts = { cornerPermutation, edgeOrientation };
+        int[] coordinates = { 0, 1 };
+
+        ProductPruningTable table = new ProductPruningTable("test product", null, coordinates, parts, 2);
+        ProductPruningTable offHeapTable = new ProductPruningTable("test off-heap product", null, coordinates, parts, 2, 0);
+
+        assertFalse(table.isOffHeap());
+        assertTrue(offHeapTable.isOffHeap());
+        assertEquals(56 * 2048, offHeapTable.getSize());
+
+        for (long index = 0; index < table.getSize(); index++) {
+            assertEquals(table.getPruningValue(index), offHeapTable.getPruningValue(index), "value of index " + index);
+        }
+    }
+}
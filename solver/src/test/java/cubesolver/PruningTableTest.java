@@ -0,0 +1,54 @@
+package cubesolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PruningTableTest {
+    private static void assertSameValues(PruningTable table, OffHeapPruningTable offHeapTable, int size) {
+        for (int index = 0; index < size; index++) {
+            assertEquals(table.getPruningValue(index), offHeapTable.getPruningValue(index), "value of index " + index);
+        }
+    }
+
+    private static int getMaximumValue(PruningTable table, int size) {
+        int maximum = 0;
+
+        for (int index = 0; index < size; index++) {
+            maximum = Math.max(maximum, table.getPruningValue(index));
+        }
+
+        return maximum;
+    }
+
+    @Test
+    void offHeapTableMatchesTable() {
+        MoveTable moveTable = new MoveTable(2187, Coordinates::cornerOrientationMove);
+
+        PruningTable table = new PruningTable(2187, moveTable, 0);
+        OffHeapPruningTable offHeapTable = new OffHeapPruningTable(2187, (index, move) -> moveTable.doMove((int) index, move),
+                MoveTable.ALL_MOVES, Collections.singletonList(0L));
+
+        assertSameValues(table, offHeapTable, 2187);
+
+        // The corner orientation is solved within six moves.
+        assertEquals(6, getMaximumValue(table, 2187));
+    }
+
+    @Test
+    void offHeapTableMatchesTableWhenExpandedInParallel() {
+        MoveTable cornerTable = new MoveTable(2187, Coordinates::cornerOrientationMove);
+        MoveTable edgeTable = new MoveTable(2048, Coordinates::orientationMove);
+        int size = 2187 * 2048;
+
+        CoordinateMove doMove = (index, move) -> cornerTable.doMove(index / 2048, move) * 2048 + edgeTable.doMove(index % 2048, move);
+
+        PruningTable table = new PruningTable(size, doMove, MoveTable.ALL_MOVES, Collections.singletonList(0));
+        OffHeapPruningTable offHeapTable = new OffHeapPruningTable(size, (index, move) -> doMove.apply((int) index, move),
+                MoveTable.ALL_MOVES, Collections.singletonList(0L));
+
+        assertSameValues(table, offHeapTable, size);
+    }
+}
@@ -0,0 +1,38 @@
+package cubesolver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScrambleReaderTest {
+    private static List<String> readAll(Path path) throws IOException {
+        List<String> scrambles = new ArrayList<>();
+
+        try (ScrambleReader reader = new ScrambleReader(path, 0)) {
+            reader.forEachRemaining(scrambles::add);
+        }
+
+        return scrambles;
+    }
+
+    @Test
+    void readsLinesWithAnyLineTerminator(@TempDir Path directory) throws IOException {
+        // A scramble longer than the initial line buffer.
+        String longScramble = String.join(" ", Collections.nCopies(200, "R U"));
+
+        Path path = directory.resolve("scrambles.txt");
+        Files.write(path, ("R U\r\nF2 D'\n" + longScramble + "\r\nnot a scramble\nL B2").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList("R U", "F2 D'", longScramble, "L B2"), readAll(path));
+    }
+}
@@ -0,0 +1,70 @@
+package cubesolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScramblesTest {
+    @Test
+    void encodedMovesRoundTrip() {
+        Random random = new Random(42);
+
+        for (int count = 0; count <= Scrambles.MAX_ENCODED_MOVES; count++) {
+            int[] moves = random.ints(count, 0, MoveTable.NUM_MOVES).toArray();
+            byte[] encoded = Scrambles.encodeMoves(moves);
+
+            assertEquals(Scrambles.getEncodedLength(count), encoded.length);
+            assertArrayEquals(moves, Scrambles.decodeMoves(encoded));
+        }
+    }
+
+    @Test
+    void encodedMovesRoundTripAtOffset() {
+        int[] moves = { 0, 17, 5, 12, 3, 8, 16, 1 };
+        byte[] buffer = new byte[3 + Scrambles.getEncodedLength(moves.length)];
+
+        int length = Scrambles.encodeMoves(moves, moves.length, buffer, 3);
+        assertEquals(buffer.length - 3, length);
+
+        int[] decoded = new int[moves.length];
+        assertEquals(moves.length, Scrambles.decodeMoves(buffer, 3, decoded));
+        assertArrayEquals(moves, decoded);
+    }
+
+    @Test
+    void encodedScrambleRoundTrip() {
+        String scramble = "R U R' U' F2 D' L B2";
+        int[] moves = Scrambles.parseMoves(scramble);
+
+        // Every formatted move is preceded by a space.
+        assertEquals(" " + scramble, Scrambles.formatMoveSequence(Scrambles.parseScramble(scramble)));
+        assertArrayEquals(moves, Scrambles.decodeMoves(Scrambles.encodeMoves(moves)));
+    }
+
+    @Test
+    void invalidMovesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.encodeMoves(new int[] { MoveTable.NUM_MOVES }));
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.encodeMoves(new int[Scrambles.MAX_ENCODED_MOVES + 1]));
+
+        // A single move encoded as 11111, which is not a move.
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.decodeMoves(new byte[] { 1, (byte) 0xf8 }));
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.decodeMoves(new byte[] { 2, 0, 0 }, 0, new int[1]));
+    }
+
+    @Test
+    void truncatedInputIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.decodeMoves(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.decodeMoves(new byte[] { 1, 0 }, 2, new int[1]));
+
+        byte[] encoded = Scrambles.encodeMoves(new int[] { 0, 17, 5, 12 });
+
+        // Four moves take 20 bits, so the last of the three payload bytes is still needed.
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.decodeMoves(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> Scrambles.decodeMoves(new byte[] { (byte) 200, 0, 0 }));
+    }
+}
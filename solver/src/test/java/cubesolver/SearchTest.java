@@ -0,0 +1,117 @@
+package cubesolver;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTest {
+    private static final String SCRAMBLE = "R U R' U' F2 D' L B2";
+
+    private static Search cross;
+
+    @BeforeAll
+    static void initialize() {
+        cross = Step.CROSS.createSearch();
+        cross.initialize();
+    }
+
+    private static String randomScramble(Random random) {
+        int[] moves = new int[20];
+
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = random.nextInt(MoveTable.NUM_MOVES);
+        }
+
+        return Scrambles.appendMoveSequence(new StringBuilder(), moves, 0, moves.length).toString();
+    }
+
+    /**
+     * Counts the solutions of every length, and checks that every one of them solves the step.
+     */
+    private static Map<Integer, Integer> countByLength(Stream<String> solutions) {
+        Map<Integer, Integer> counts = new TreeMap<>();
+
+        solutions.forEach(solution -> {
+            assertEquals("", cross.solve(SCRAMBLE + solution), "solution" + solution);
+            counts.merge(Scrambles.parseMoves(solution).length, 1, Integer::sum);
+        });
+
+        return counts;
+    }
+
+    @Test
+    void solutionsReturnsEverySolutionUpToMaximumLength() {
+        assertEquals(Map.of(3, 1, 4, 8, 5, 62), countByLength(cross.solutions(SCRAMBLE, 5)));
+    }
+
+    @Test
+    void nearOptimalSolutionsReturnsSolutionsUpToExtraMoves() {
+        assertEquals(Map.of(3, 1), countByLength(cross.nearOptimalSolutions(SCRAMBLE, 0)));
+        assertEquals(Map.of(3, 1, 4, 8), countByLength(cross.nearOptimalSolutions(SCRAMBLE, 1)));
+    }
+
+    @Test
+    void solutionsAreReturnedShortestFirst() {
+        assertEquals(cross.solve(SCRAMBLE), cross.solutions(SCRAMBLE, 5).findFirst().orElse(null));
+    }
+
+    @Test
+    void parallelSearchReturnsTheSequentialSolution() {
+        assertTrue(ForkJoinPool.getCommonPoolParallelism() > 1, "the parallel search would not split");
+
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20; i++) {
+            String scramble = randomScramble(random);
+
+            assertEquals(cross.solve(scramble), cross.solveParallel(scramble), scramble);
+        }
+    }
+
+    @Test
+    void customCoordinatesSolveLikeFactoryCoordinates() {
+        // The orientation of the cross edges, built like Coordinate.edgeOrientation but without a kind.
+        List<Integer> solvedValues = new ArrayList<>();
+
+        for (int i = 0; i < 2048; i++) {
+            if ((Coordinates.getPackedEdgeOrientationFromIndex(i) & 0xf0) == 0) {
+                solvedValues.add(i);
+            }
+        }
+
+        Coordinate custom = new Coordinate("test cross edge orientation", 2048, Coordinates::orientationMove, solvedValues,
+                state -> Coordinates.getIndexFromPackedEdgeOrientation(state.getEdgeFlips()));
+
+        Coordinate firstEdges = Coordinate.edgePermutation(Arrays.asList(4, 5));
+        Coordinate secondEdges = Coordinate.edgePermutation(Arrays.asList(6, 7));
+
+        Search factorySearch = new Search("factory cross", Arrays.asList(Coordinate.edgeOrientation(Arrays.asList(4, 5, 6, 7)), firstEdges, secondEdges))
+                .addProductPruningTable(firstEdges, secondEdges);
+        Search customSearch = new Search("custom cross", Arrays.asList(custom, firstEdges, secondEdges))
+                .addProductPruningTable(firstEdges, secondEdges);
+
+        factorySearch.initialize();
+        customSearch.initialize();
+
+        Random random = new Random(11);
+
+        for (int i = 0; i < 20; i++) {
+            String scramble = randomScramble(random);
+            String solution = factorySearch.solve(scramble);
+
+            assertEquals(solution, customSearch.solve(scramble), scramble);
+            assertEquals(Scrambles.parseMoves(cross.solve(scramble)).length, Scrambles.parseMoves(solution).length, scramble);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package cubesolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SolveCacheTest {
+    private static int[] key(int value) {
+        return new int[] { value };
+    }
+
+    @Test
+    void rejectsEmptyCaches() {
+        assertThrows(IllegalArgumentException.class, () -> new SolveCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new SolveCache(-1));
+    }
+
+    @Test
+    void smallCachesHoldEveryEntryUpToTheirSize() {
+        SolveCache cache = new SolveCache(1);
+
+        cache.putSolution(key(1), Collections.singletonList(0));
+        assertNotNull(cache.get(key(1)));
+
+        cache.putSolution(key(2), Collections.singletonList(0));
+        assertNull(cache.get(key(1)));
+        assertNotNull(cache.get(key(2)));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+        SolveCache cache = new SolveCache(160);
+
+        cache.putSolution(key(0), Collections.singletonList(0));
+
+        for (int i = 1; i <= 1000; i++) {
+            cache.putSolution(key(i), Collections.singletonList(i));
+
+            // The first entry is used after every insertion, so it is never the least recently used one.
+            assertNotNull(cache.get(key(0)), "evicted after " + i + " insertions");
+        }
+
+        assertNull(cache.get(key(1)));
+        assertEquals(160, cache.getSize());
+        assertEquals(1001 - 160, cache.getEvictions());
+    }
+
+    @Test
+    void lowerBoundsDoNotReplaceSolutions() {
+        SolveCache cache = new SolveCache(16);
+
+        cache.putLowerBound(key(1), 5);
+        cache.putLowerBound(key(1), 4);
+        assertEquals(5, cache.get(key(1)).lowerBound);
+
+        cache.putSolution(key(1), Collections.nCopies(7, 0));
+        cache.putLowerBound(key(1), 9);
+        assertEquals(7, cache.get(key(1)).lowerBound);
+        assertNotNull(cache.get(key(1)).solution);
+    }
+}
@@ -0,0 +1,43 @@
+package cubesolver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TableStoreTest {
+    // Cycles through the indexes, so every move leads somewhere else and the pruning table is not trivial.
+    private static CoordinateMove cycle(int size) {
+        return (index, move) -> (index + move + 1) % size;
+    }
+
+    @Test
+    void loadsStoredTables(@TempDir Path directory) {
+        MoveTable moveTable = new TableStore(directory).loadMoveTable("move", 10, cycle(10));
+        PruningTable pruningTable = new TableStore(directory).loadPruningTable("pruning", 10, moveTable, 0);
+
+        assertArrayEquals(moveTable.getSmallTable(), new TableStore(directory).loadMoveTable("move", 10, (index, move) -> 0).getSmallTable());
+        assertArrayEquals(pruningTable.getTable(), new TableStore(directory).loadPruningTable("pruning", 10, moveTable, 5).getTable());
+    }
+
+    @Test
+    void recomputesTablesOfAnotherSize(@TempDir Path directory) {
+        TableStore store = new TableStore(directory);
+
+        MoveTable smallMoveTable = store.loadMoveTable("move", 10, cycle(10));
+        MoveTable largeMoveTable = store.loadMoveTable("move", 11, cycle(11));
+
+        assertEquals(11 * MoveTable.NUM_MOVES, largeMoveTable.getSmallTable().length);
+        assertEquals(11 * MoveTable.NUM_MOVES, store.loadMoveTable("move", 11, cycle(11)).getSmallTable().length);
+
+        store.loadPruningTable("pruning", 10, smallMoveTable, Collections.singleton(0));
+        PruningTable pruningTable = store.loadPruningTable("pruning", 21, () -> new PruningTable(21, cycle(21), MoveTable.ALL_MOVES, Collections.singleton(0)));
+
+        assertEquals(11, pruningTable.getTable().length);
+        assertEquals(11, store.loadPruningTable("pruning", 21, largeMoveTable, 0).getTable().length);
+    }
+}
@@ -0,0 +1,88 @@
+package cubesolver;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TwoPhaseSolverTest {
+    // The moves of phase 2: quarter and half turns of U and D, and half turns of the other faces.
+    private static final String PHASE_2_MOVES = "F2 R2 U U2 U' B2 L2 D D2 D'";
+
+    private static final SearchLimits LIMITS = SearchLimits.withTimeout(Duration.ofSeconds(10));
+
+    private static TwoPhaseSolver solver;
+
+    @BeforeAll
+    static void initialize() {
+        solver = new TwoPhaseSolver();
+        solver.initialize();
+    }
+
+    private static void assertSolves(String scramble, String solution) {
+        CubeState state = CubeState.SOLVED.apply(Scrambles.parseMoves(scramble)).apply(Scrambles.parseMoves(solution));
+
+        assertEquals(CubeState.SOLVED.getEdgePositions(), state.getEdgePositions(), scramble + " /" + solution);
+        assertEquals(CubeState.SOLVED.getEdgeFlips(), state.getEdgeFlips(), scramble + " /" + solution);
+        assertEquals(CubeState.SOLVED.getCornerPositions(), state.getCornerPositions(), scramble + " /" + solution);
+        assertEquals(CubeState.SOLVED.getCornerTwists(), state.getCornerTwists(), scramble + " /" + solution);
+    }
+
+    @Test
+    void solvesRandomScrambles() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20; i++) {
+            int[] moves = new int[25];
+
+            for (int j = 0; j < moves.length; j++) {
+                moves[j] = random.nextInt(MoveTable.NUM_MOVES);
+            }
+
+            String scramble = Scrambles.appendMoveSequence(new StringBuilder(), moves, 0, moves.length).toString();
+            SearchResult result = solver.solve(scramble, TwoPhaseSolver.DEFAULT_TARGET_LENGTH, LIMITS);
+
+            assertNotNull(result.getSolution(), scramble);
+            assertTrue(result.getDepth() <= TwoPhaseSolver.DEFAULT_TARGET_LENGTH, scramble + " /" + result.getSolution());
+            assertSolves(scramble, result.getSolution());
+        }
+    }
+
+    @Test
+    void phase2OnlyUsesPhase2Moves() {
+        // Scrambled with phase 2 moves only, so the first solution has an empty phase 1.
+        String scramble = "U R2 D' F2 L2 U2 B2";
+        SearchResult result = solver.solve(scramble, TwoPhaseSolver.DEFAULT_TARGET_LENGTH, LIMITS);
+
+        assertSolves(scramble, result.getSolution());
+        assertTrue(result.getDepth() <= 7, result.getSolution());
+
+        for (String move : result.getSolution().trim().split(" ")) {
+            assertTrue((" " + PHASE_2_MOVES + " ").contains(" " + move + " "), "phase 1 move " + move + " in" + result.getSolution());
+        }
+    }
+
+    @Test
+    void truncatedPhase2IsSuboptimal() {
+        // R' solves phase 1, after which U2 solves phase 2. The target length of 1 can never be reached,
+        // so the search only ends once it has shown that no solution is shorter than the best one.
+        String scramble = "R U2";
+
+        SearchResult result = solver.solve(scramble, 1, LIMITS);
+        assertEquals(SearchResult.Status.OPTIMAL, result.getStatus());
+        assertEquals(2, result.getDepth());
+
+        // Without any phase 2 moves before the first solution, the solution after R' is never searched.
+        TwoPhaseSolver truncating = new TwoPhaseSolver(0);
+        truncating.initialize();
+
+        SearchResult truncated = truncating.solve(scramble, 1, LIMITS);
+        assertEquals(SearchResult.Status.SUBOPTIMAL, truncated.getStatus());
+        assertSolves(scramble, truncated.getSolution());
+    }
+}